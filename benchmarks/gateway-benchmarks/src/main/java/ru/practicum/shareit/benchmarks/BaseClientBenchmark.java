@@ -0,0 +1,110 @@
+package ru.practicum.shareit.benchmarks;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import ru.practicum.shareit.client.ClientMetrics;
+import ru.practicum.shareit.client.HttpClientConfig;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Полный цикл BaseClient.makeAndSendRequest (сериализация, HTTP, разбор ответа) против локальной заглушки сервера.
+ * pooled - общий пул из HttpClientConfig, default - HttpComponentsClientHttpRequestFactory по умолчанию.
+ * metrics=true - с таймером shareit.client.request (ClientMetrics, реестр Prometheus с гистограммами), как в gateway.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class BaseClientBenchmark {
+
+    @Param({"pooled", "default"})
+    private String requestFactory;
+
+    @Param({"true", "false"})
+    private boolean metrics;
+
+    private StubServer stubServer;
+    private AnnotationConfigApplicationContext httpClientContext;
+    private BenchmarkClient client;
+
+    private final Map<String, Object> newItem = Map.of(
+            "name", "Дрель",
+            "description", "Аккумуляторная дрель",
+            "available", true
+    );
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        stubServer = new StubServer(16);
+
+        ClientHttpRequestFactory factory;
+        if ("pooled".equals(requestFactory)) {
+            httpClientContext = new AnnotationConfigApplicationContext(HttpClientConfig.class);
+            factory = httpClientContext.getBean(ClientHttpRequestFactory.class);
+        } else {
+            factory = new HttpComponentsClientHttpRequestFactory();
+        }
+
+        client = new BenchmarkClient(stubServer.getUrl(), factory);
+        if (metrics) {
+            PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+            meterRegistry.config().meterFilter(new MeterFilter() {
+                @Override
+                public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                    return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+                }
+            });
+            client.setClientMetrics(new ClientMetrics(meterRegistry, true));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (httpClientContext != null) {
+            httpClientContext.close();
+        }
+        stubServer.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> getItem() {
+        return client.getItem(1L, 1L);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> searchItems() {
+        return client.searchItems(1L, "дрель");
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> createItem() {
+        return client.createItem(1L, newItem);
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.BaseClient;
+
+import java.util.Map;
+
+/**
+ * Наследник BaseClient, открывающий запросы для бенчмарка (все они проходят через makeAndSendRequest).
+ * WebClient не передается, поэтому запросы всегда выполняются в блокирующем режиме.
+ */
+public class BenchmarkClient extends BaseClient {
+
+    public BenchmarkClient(String serverUrl, ClientHttpRequestFactory requestFactory) {
+        super(
+                new RestTemplateBuilder()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
+                        .requestFactory(() -> requestFactory)
+                        .build()
+        );
+    }
+
+    public ResponseEntity<Object> getItem(long itemId, long userId) {
+        return get("/items/" + itemId, userId).join();
+    }
+
+    public ResponseEntity<Object> searchItems(long userId, String text) {
+        return get("/items/search?text={text}", userId, Map.of("text", text)).join();
+    }
+
+    public ResponseEntity<Object> createItem(long userId, Map<String, Object> item) {
+        return post("/items", userId, item).join();
+    }
+}
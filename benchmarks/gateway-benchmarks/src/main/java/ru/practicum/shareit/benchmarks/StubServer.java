@@ -0,0 +1,56 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Заглушка shareit-server на локальном порту: на любой запрос отвечает фиксированным JSON-предметом.
+ */
+public class StubServer implements AutoCloseable {
+
+    private static final byte[] ITEM_JSON = ("{\"id\":1,\"name\":\"Дрель\",\"description\":\"Аккумуляторная дрель\"," +
+            "\"available\":true,\"requestId\":null}").getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public StubServer(int threads) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, ITEM_JSON.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(ITEM_JSON);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.searchservices.IndexingService;
+import ru.practicum.shareit.searchservices.ItemSearchService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemSearchService.searchItemsByNameOrDescription для N описаний запросов (как в ItemRequestServiceImpl.fillItems)
+ * на встроенной H2 и индексе в памяти: searchPerRequest - отдельный вызов на каждое описание (свой IndexReader
+ * и свой запрос загрузки предметов), searchBatched - один вызов на все описания.
+ * Каждое описание находит items/words предметов, например:
+ * java -jar benchmarks.jar ItemSearchBenchmark -p requests=100 -p items=100000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ItemSearchBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"10", "100"})
+    private int requests;
+
+    @Param({"10000"})
+    private int items;
+
+    @Param({"1000"})
+    private int words;
+
+    private ConfigurableApplicationContext context;
+    private ItemSearchService itemSearchService;
+
+    private List<String> descriptions;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:shareit-search-bench-" + System.nanoTime(),
+                        "--spring.datasource.driverClassName=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.flyway.enabled=false",
+                        "--spring.sql.init.mode=always",
+                        "--spring.sql.init.schema-locations=classpath:benchmark_schema.sql",
+                        "--spring.jpa.properties.hibernate.search.default.directory_provider=local-heap",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--shareit.search.full-text.enabled=true",
+                        "--shareit.search.indexing.on-startup=false",
+                        "--shareit.booking.owner-backfill.on-startup=false",
+                        "--shareit.tracing.exporter=none",
+                        "--logging.level.root=WARN");
+
+        itemSearchService = context.getBean(ItemSearchService.class);
+
+        fillDatabase(context.getBean(JdbcTemplate.class));
+        context.getBean(IndexingService.class).initiateFullIndexing().get(10, TimeUnit.MINUTES);
+
+        descriptions = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            descriptions.add("tool" + (i % words));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<List<Item>> searchPerRequest() {
+        List<List<Item>> result = new ArrayList<>(descriptions.size());
+        for (String description : descriptions) {
+            result.add(itemSearchService.searchItemsByNameOrDescription(List.of(description)).get(0));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<List<Item>> searchBatched() {
+        return itemSearchService.searchItemsByNameOrDescription(descriptions);
+    }
+
+    /**
+     * Пользователь 1 - владелец всех предметов, предмет с номером id называется tool{id % words}.
+     */
+    private void fillDatabase(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("insert into public.users (user_id, name, email) values (1, 'owner', 'owner@bench.ru')");
+
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= items; id++) {
+            String word = "tool" + (id % words);
+            rows.add(new Object[]{id, word, "description of " + word, true, 1L});
+        }
+
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate("insert into public.item (item_id, name, description, available, owner) " +
+                    "values (?, ?, ?, ?, ?)", rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+}
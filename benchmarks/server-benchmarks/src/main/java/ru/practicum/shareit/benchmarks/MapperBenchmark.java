@@ -0,0 +1,101 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingDto;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestDto;
+import ru.practicum.shareit.request.ItemRequestMapper;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразования сущностей в DTO: BookingMapper, ItemMapper, ItemRequestMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1", "20", "100"})
+    private int listSize;
+
+    private List<Booking> bookings;
+    private List<Item> items;
+    private ItemRequest itemRequest;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+
+        User owner = User.builder().id(1L).name("owner").email("owner@bench.ru").build();
+        User booker = User.builder().id(2L).name("booker").email("booker@bench.ru").build();
+
+        bookings = new ArrayList<>(listSize);
+        items = new ArrayList<>(listSize);
+
+        for (long i = 1; i <= listSize; i++) {
+            Item item = Item.builder()
+                    .id(i)
+                    .name("item " + i)
+                    .description("item description " + i)
+                    .available(true)
+                    .user(owner)
+                    .build();
+            items.add(item);
+
+            bookings.add(Booking.builder()
+                    .id(i)
+                    .start(now.plusDays(i))
+                    .end(now.plusDays(i + 1))
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatus.APPROVED)
+                    .build());
+        }
+
+        itemRequest = ItemRequest.builder()
+                .id(1L)
+                .description("request description")
+                .requester(booker)
+                .created(now)
+                .build();
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingMapperToDto() {
+        return BookingMapper.toDto(bookings);
+    }
+
+    @Benchmark
+    public List<ItemDto> itemMapperToDto() {
+        return ItemMapper.toDto(items);
+    }
+
+    @Benchmark
+    public ItemRequestDto itemRequestMapperToDto() {
+        return ItemRequestMapper.toDto(itemRequest, items);
+    }
+}
@@ -0,0 +1,159 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingDto;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.OutItemDto;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemServiceImpl.getItemsByOwnerId и BookingServiceImpl.getAllBookingByOwner на встроенной H2.
+ * Размер данных задается параметрами owners/itemsPerOwner/bookingsPerItem, например:
+ * java -jar benchmarks.jar ServiceBenchmark -p itemsPerOwner=500 -p bookingsPerItem=50
+ * <p>
+ * instrumentation=false отключает таймеры сервисов и репозиториев (shareit.metrics.instrumentation.enabled),
+ * разница с instrumentation=true - их накладные расходы.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"100"})
+    private int owners;
+
+    @Param({"10", "100"})
+    private int itemsPerOwner;
+
+    @Param({"10"})
+    private int bookingsPerItem;
+
+    @Param({"true", "false"})
+    private boolean instrumentation;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+
+    private long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:shareit-bench-" + System.nanoTime(),
+                        "--spring.datasource.driverClassName=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.flyway.enabled=false",
+                        "--spring.sql.init.mode=always",
+                        "--spring.sql.init.schema-locations=classpath:benchmark_schema.sql",
+                        "--spring.jpa.properties.hibernate.search.default.directory_provider=local-heap",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--shareit.search.indexing.on-startup=false",
+                        "--shareit.booking.owner-backfill.on-startup=false",
+                        "--shareit.metrics.instrumentation.enabled=" + instrumentation,
+                        "--shareit.tracing.exporter=none",
+                        "--logging.level.root=WARN");
+
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+
+        fillDatabase(context.getBean(JdbcTemplate.class));
+
+        ownerId = 1L;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<OutItemDto> getItemsByOwnerId() {
+        return itemService.getItemsByOwnerId(ownerId);
+    }
+
+    @Benchmark
+    public List<BookingDto> getAllBookingByOwnerAll() {
+        return bookingService.getAllBookingByOwner(ownerId, 0, 20, "ALL");
+    }
+
+    @Benchmark
+    public List<BookingDto> getAllBookingByOwnerPast() {
+        return bookingService.getAllBookingByOwner(ownerId, 0, 20, "PAST");
+    }
+
+    /**
+     * Пользователи 1..owners - владельцы предметов, owners+1..2*owners - бронирующие.
+     * Бронирования каждого предмета идут подряд с интервалом в сутки, половина из них в прошлом.
+     */
+    private void fillDatabase(JdbcTemplate jdbcTemplate) {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> users = new ArrayList<>();
+        for (long id = 1; id <= owners * 2L; id++) {
+            users.add(new Object[]{id, "user " + id, "user_" + id + "@bench.ru"});
+        }
+        batchInsert(jdbcTemplate, "insert into public.users (user_id, name, email) values (?, ?, ?)", users);
+
+        List<Object[]> items = new ArrayList<>();
+        List<Object[]> bookings = new ArrayList<>();
+        long itemId = 0;
+        long bookingId = 0;
+
+        for (long owner = 1; owner <= owners; owner++) {
+            for (int i = 0; i < itemsPerOwner; i++) {
+                itemId++;
+                items.add(new Object[]{itemId, "item " + itemId, "item description " + itemId, true, owner});
+
+                for (int b = 0; b < bookingsPerItem; b++) {
+                    bookingId++;
+                    LocalDateTime start = now.plusDays(b - bookingsPerItem / 2);
+                    bookings.add(new Object[]{bookingId, Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(12)),
+                            itemId, owners + 1 + (bookingId % owners), BookingStatus.APPROVED.ordinal(), owner});
+                }
+            }
+        }
+
+        batchInsert(jdbcTemplate, "insert into public.item (item_id, name, description, available, owner) " +
+                "values (?, ?, ?, ?, ?)", items);
+        batchInsert(jdbcTemplate, "insert into public.booking (booking_id, start_time, end_time, item_id, booker_id, status, " +
+                "owner_id) values (?, ?, ?, ?, ?, ?, ?)", bookings);
+    }
+
+    private void batchInsert(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+}
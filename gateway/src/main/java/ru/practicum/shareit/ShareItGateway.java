@@ -2,8 +2,14 @@ package ru.practicum.shareit;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.ClientHttpConnectorAutoConfiguration;
 
-@SpringBootApplication
+/**
+ * Неблокирующий транспорт к серверу настраивается в WebClientConfig только при shareit-server.reactive.enabled,
+ * поэтому автоконфигурация коннектора Spring Boot отключена: иначе она создает ReactorClientHttpConnector
+ * со своим пулом соединений, который внедряется в клиенты и в блокирующем режиме.
+ */
+@SpringBootApplication(exclude = ClientHttpConnectorAutoConfiguration.class)
 public class ShareItGateway {
 	public static void main(String[] args) {
 		SpringApplication.run(ShareItGateway.class, args);
@@ -4,57 +4,89 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.CallTags;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
+    private static final String BOOKER = "booker";
+
+    private static final String OWNER = "owner";
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory shareitServerRequestFactory,
+                         WebClient.Builder webClientBuilder,
+                         @Nullable ReactorClientHttpConnector shareitServerConnector) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareitServerRequestFactory)
+                        .build(),
+                buildWebClient(webClientBuilder, serverUrl + API_PREFIX, shareitServerConnector)
         );
     }
 
-    public ResponseEntity<Object> getAllBookingByUser(long userId, BookingState state, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getAllBookingByUser(long userId, BookingState state, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
         );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        return get("?state={state}&from={from}&size={size}", userId, parameters, CallTags.of(state, BOOKER));
     }
 
-    public ResponseEntity<Object> getAllBookingByOwner(long ownerId, BookingState state, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getAllBookingByOwner(long ownerId, BookingState state, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
         );
-        return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
+        return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters, CallTags.of(state, OWNER));
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getAllBookingByUser(long userId, BookingState state, String after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "after", after,
+                "size", size
+        );
+        return get("?state={state}&after={after}&size={size}", userId, parameters, CallTags.of(state, BOOKER));
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getAllBookingByOwner(long ownerId, BookingState state, String after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "after", after,
+                "size", size
+        );
+        return get("/owner?state={state}&after={after}&size={size}", ownerId, parameters, CallTags.of(state, OWNER));
     }
 
-    public ResponseEntity<Object> createBooking(long userId, InputBookingDto requestDto) {
+    public CompletableFuture<ResponseEntity<Object>> createBooking(long userId, InputBookingDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getBookingByUser(long userId, Long bookingId) {
-        return get("/" + bookingId, userId);
+    public CompletableFuture<ResponseEntity<Object>> getBookingByUser(long userId, Long bookingId) {
+        return getCacheable("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> approvalBooking(Long bookingId, Long ownerId, Boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> approvalBooking(Long bookingId, Long ownerId, Boolean approved,
+                                                                     String idempotencyKey) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved.toString()
         );
-        return patch("/" + bookingId + "?approved={approved}", ownerId, parameters, null);
+        return patchIdempotent("/" + bookingId + "?approved={approved}", ownerId, parameters, null, idempotencyKey);
     }
 }
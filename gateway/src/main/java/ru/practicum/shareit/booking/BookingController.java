@@ -13,6 +13,7 @@ import ru.practicum.shareit.exceptions.ApiErrorException;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -23,47 +24,56 @@ public class BookingController {
 	private final BookingClient bookingClient;
 
 	@PostMapping
-	public ResponseEntity<Object> createBooking(@Valid @RequestBody InputBookingDto bookingDto,
-												@RequestHeader(value = "X-Sharer-User-Id", required = false) Long bookerId) {
+	public CompletableFuture<ResponseEntity<Object>> createBooking(@Valid @RequestBody InputBookingDto bookingDto,
+																   @RequestHeader(value = "X-Sharer-User-Id", required = false) Long bookerId) {
 		log.info("Запрос на создание новой записи");
 		validateBookingTime(bookingDto);
 		return bookingClient.createBooking(bookerId, bookingDto);
 	}
 
 	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> approvalBooking(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long ownerId,
-												  @PathVariable("bookingId") Long bookingId,
-												  @RequestParam("approved") Boolean approved) {
+	public CompletableFuture<ResponseEntity<Object>> approvalBooking(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long ownerId,
+																	 @PathVariable("bookingId") Long bookingId,
+																	 @RequestParam("approved") Boolean approved,
+																	 @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
 		log.info("Запрос на смену статуса бронирования с ID={} от пользователя с ID={}", bookingId, ownerId);
-		return bookingClient.approvalBooking(bookingId, ownerId, approved);
+		return bookingClient.approvalBooking(bookingId, ownerId, approved, idempotencyKey);
 	}
 
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getBookingByUser(@PathVariable("bookingId") Long bookingId,
-												   @RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId) {
+	public CompletableFuture<ResponseEntity<Object>> getBookingByUser(@PathVariable("bookingId") Long bookingId,
+																	  @RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId) {
 		log.info("Запрос на получение данных бронирования с ID={} пользователем с ID={}", bookingId, userId);
 		return bookingClient.getBookingByUser(userId, bookingId);
 	}
 
 	@GetMapping
-	public ResponseEntity<Object> getAllBookingByUser(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId,
-													  @RequestParam(value = "state", defaultValue = "ALL") String state,
-													  @Valid @RequestParam(value = "from", required = false, defaultValue = 0 + "")
-														  @PositiveOrZero(message = "Параметр 'from' должен быть положительным числом") Integer from,
-													  @Valid @RequestParam(value = "size", required = false, defaultValue = Integer.MAX_VALUE + "")
-														  @Positive(message = "Параметр 'from' должен быть положительным числом больше 0") Integer size) {
+	public CompletableFuture<ResponseEntity<Object>> getAllBookingByUser(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId,
+																		 @RequestParam(value = "state", defaultValue = "ALL") String state,
+																		 @Valid @RequestParam(value = "from", required = false, defaultValue = 0 + "")
+																			 @PositiveOrZero(message = "Параметр 'from' должен быть положительным числом") Integer from,
+																		 @Valid @RequestParam(value = "size", required = false, defaultValue = Integer.MAX_VALUE + "")
+																			 @Positive(message = "Параметр 'from' должен быть положительным числом больше 0") Integer size,
+																		 @RequestParam(value = "after", required = false) String after) {
 		log.info("Запрос на получение данных всех бронирований пользователем с ID={}", userId);
+		if (after != null) {
+			return bookingClient.getAllBookingByUser(userId, checkState(state), after, size);
+		}
 		return bookingClient.getAllBookingByUser(userId, checkState(state), from, size);
 	}
 
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getAllBookingByOwner(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long ownerId,
-													   @RequestParam(value = "state", defaultValue = "ALL") String state,
-													   @Valid @RequestParam(value = "from", required = false, defaultValue = 0 + "")
-														   @PositiveOrZero(message = "Параметр 'from' должен быть положительным числом") Integer from,
-													   @Valid @RequestParam(value = "size", required = false, defaultValue = Integer.MAX_VALUE + "")
-														   @Positive(message = "Параметр 'from' должен быть положительным числом больше 0") Integer size) {
+	public CompletableFuture<ResponseEntity<Object>> getAllBookingByOwner(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long ownerId,
+																		  @RequestParam(value = "state", defaultValue = "ALL") String state,
+																		  @Valid @RequestParam(value = "from", required = false, defaultValue = 0 + "")
+																			  @PositiveOrZero(message = "Параметр 'from' должен быть положительным числом") Integer from,
+																		  @Valid @RequestParam(value = "size", required = false, defaultValue = Integer.MAX_VALUE + "")
+																			  @Positive(message = "Параметр 'from' должен быть положительным числом больше 0") Integer size,
+																		  @RequestParam(value = "after", required = false) String after) {
 		log.info("Запрос на получение данных всех бронирований предмета с владельцем с ID={}", ownerId);
+		if (after != null) {
+			return bookingClient.getAllBookingByOwner(ownerId, checkState(state), after, size);
+		}
 		return bookingClient.getAllBookingByOwner(ownerId, checkState(state), from, size);
 	}
 
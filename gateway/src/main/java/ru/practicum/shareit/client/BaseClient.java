@@ -1,87 +1,383 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exceptions.ApiErrorException;
 
 public class BaseClient {
+    // Исключения пула соединений Reactor Netty (reactor-pool) находятся в неопубликованном shaded-пакете,
+    // поэтому распознаются по имени класса в цепочке причин
+    private static final Set<String> POOL_EXHAUSTED_EXCEPTIONS = Set.of(
+            "PoolAcquirePendingLimitException",
+            "PoolAcquireTimeoutException"
+    );
+
+    // Заголовки, относящиеся к соединению gateway -> server, не передаются клиенту в режиме pass-through
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            HttpHeaders.CONNECTION.toLowerCase(),
+            "keep-alive",
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.TE.toLowerCase(),
+            HttpHeaders.TRAILER.toLowerCase(),
+            HttpHeaders.UPGRADE.toLowerCase(),
+            HttpHeaders.PROXY_AUTHENTICATE.toLowerCase(),
+            HttpHeaders.PROXY_AUTHORIZATION.toLowerCase()
+    );
+
     protected final RestTemplate rest;
 
+    @Nullable
+    protected final WebClient webClient;
+
+    /**
+     * Режим pass-through: тело ответа сервера передается клиенту как есть (byte[]),
+     * без разбора в Object и повторной сериализации Jackson'ом.
+     */
+    @Value("${shareit-server.pass-through:false}")
+    private boolean passThrough;
+
+    /**
+     * Неблокирующий режим: запросы к серверу выполняются через WebClient, поток Tomcat освобождается
+     * до получения ответа (контроллеры возвращают CompletableFuture).
+     */
+    @Value("${shareit-server.reactive.enabled:false}")
+    private boolean reactive;
+
+    @Nullable
+    private GatewayResponseCache responseCache;
+
+    @Nullable
+    private RequestCoalescer requestCoalescer;
+
+    @Nullable
+    private IdempotencyStore idempotencyStore;
+
+    @Nullable
+    private ClientHttpRequestFactory streamingRequestFactory;
+
+    @Nullable
+    private ClientMetrics clientMetrics;
+
+    @Nullable
+    private ClientTracing clientTracing;
+
+    private final String clientName = ClassUtils.getUserClass(getClass()).getSimpleName();
+
     public BaseClient(RestTemplate rest) {
+        this(rest, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable WebClient webClient) {
         this.rest = rest;
+        this.webClient = webClient;
+    }
+
+    /**
+     * WebClient для неблокирующего режима. Без коннектора (shareit-server.reactive.enabled=false,
+     * WebClientConfig не создает его) запросы выполняются только через RestTemplate.
+     */
+    @Nullable
+    protected static WebClient buildWebClient(WebClient.Builder webClientBuilder, String baseUrl,
+                                              @Nullable ReactorClientHttpConnector connector) {
+        if (connector == null) {
+            return null;
+        }
+        return webClientBuilder
+                .baseUrl(baseUrl)
+                .clientConnector(connector)
+                .build();
+    }
+
+    @Autowired(required = false)
+    public void setResponseCache(GatewayResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @Autowired(required = false)
+    public void setRequestCoalescer(RequestCoalescer requestCoalescer) {
+        this.requestCoalescer = requestCoalescer;
+    }
+
+    @Autowired(required = false)
+    public void setIdempotencyStore(IdempotencyStore idempotencyStore) {
+        this.idempotencyStore = idempotencyStore;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    @Autowired(required = false)
+    public void setStreamingRequestFactory(
+            @Qualifier("shareitServerStreamingRequestFactory") ClientHttpRequestFactory streamingRequestFactory) {
+        this.streamingRequestFactory = streamingRequestFactory;
+    }
+
+    @Autowired(required = false)
+    public void setClientMetrics(ClientMetrics clientMetrics) {
+        this.clientMetrics = clientMetrics;
+    }
+
+    @Autowired(required = false)
+    public void setClientTracing(ClientTracing clientTracing) {
+        this.clientTracing = clientTracing;
+    }
+
+    protected CompletableFuture<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return get(path, userId, parameters, CallTags.NONE);
+    }
+
+    /**
+     * GET с тегами state/role таймера запроса (списки бронирований).
+     */
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, Long userId,
+                                                            @Nullable Map<String, Object> parameters, CallTags tags) {
+        return sendRequest(HttpMethod.GET, path, userId, parameters, null, tags);
+    }
+
+    /**
+     * GET, ответ на который может быть отдан из кэша gateway (GatewayResponseCache) в течение короткого TTL.
+     */
+    protected CompletableFuture<ResponseEntity<Object>> getCacheable(String path, @Nullable Long userId) {
+        if (responseCache == null || !responseCache.isEnabled()) {
+            return get(path, userId, null);
+        }
+
+        URI uri = expandUri(path, null);
+        String ifNoneMatch = getIfNoneMatch();
+
+        return measure(HttpMethod.GET, CallTags.NONE, () -> {
+            ResponseEntity<Object> cachedResponse = responseCache.get(uri, userId);
+            if (cachedResponse != null) {
+                return CompletableFuture.completedFuture(checkNotModified(cachedResponse, ifNoneMatch));
+            }
+
+            long generation = responseCache.getGeneration();
+            return fetch(path, userId, null)
+                    .thenApply(response -> {
+                        if (response.getStatusCode() == HttpStatus.OK) {
+                            responseCache.put(uri, userId, response, generation);
+                        }
+                        return checkNotModified(response, ifNoneMatch);
+                    });
+        });
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return sendRequest(HttpMethod.POST, path, userId, parameters, body, CallTags.NONE);
+    }
+
+    /**
+     * POST с телом, которое передается серверу потоком без чтения в память gateway (массовый импорт).
+     * Ответ сервера возвращается клиенту как есть.
+     */
+    protected CompletableFuture<ResponseEntity<Object>> postStream(String path, @Nullable Long userId,
+                                                                   InputStream body, MediaType contentType) {
+        return measure(HttpMethod.POST, CallTags.NONE, () -> sendStream(path, userId, body, contentType));
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> sendStream(String path, @Nullable Long userId,
+                                                                 InputStream body, MediaType contentType) {
+        URI uri = expandUri(path, null);
+        ClientHttpRequestFactory requestFactory = streamingRequestFactory != null ? streamingRequestFactory
+                : rest.getRequestFactory();
+
+        ResponseEntity<Object> response;
+        try {
+            ClientHttpRequest request = requestFactory.createRequest(uri, HttpMethod.POST);
+            request.getHeaders().addAll(defaultHeaders(userId));
+            request.getHeaders().setContentType(contentType);
+            StreamUtils.copy(body, request.getBody());
+
+            try (ClientHttpResponse serverResponse = request.execute()) {
+                response = prepareGatewayResponse(ResponseEntity.status(serverResponse.getRawStatusCode())
+                        .headers(passThroughHeaders(serverResponse.getHeaders()))
+                        .body(StreamUtils.copyToByteArray(serverResponse.getBody())));
+            }
+        } catch (IOException e) {
+            throw new ApiErrorException(HttpStatus.BAD_GATEWAY, "Ошибка передачи данных на сервер: " + e.getMessage());
+        }
+
+        if (responseCache != null && response.getStatusCode().is2xxSuccessful()) {
+            responseCache.invalidate(uri);
+        }
+        return CompletableFuture.completedFuture(response);
+    }
+
+    /**
+     * Изменяющий запрос с ключом идемпотентности: повтор с тем же ключом получает ответ первого запроса
+     * (IdempotencyStore). Без ключа запрос выполняется как обычно.
+     */
+    protected <T> CompletableFuture<ResponseEntity<Object>> patchIdempotent(String path, Long userId,
+                                                                           @Nullable Map<String, Object> parameters,
+                                                                           @Nullable T body,
+                                                                           @Nullable String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyStore == null) {
+            return patch(path, userId, parameters, body);
+        }
+
+        String fingerprint = HttpMethod.PATCH + " " + expandUri(path, parameters);
+        return idempotencyStore.execute(idempotencyKey, userId, fingerprint,
+                () -> patch(path, userId, parameters, body));
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+        return sendRequest(HttpMethod.PUT, path, userId, parameters, body, CallTags.NONE);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return sendRequest(HttpMethod.PATCH, path, userId, parameters, body, CallTags.NONE);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return sendRequest(HttpMethod.DELETE, path, userId, parameters, null, CallTags.NONE);
+    }
+
+    private <T> CompletableFuture<ResponseEntity<Object>> sendRequest(HttpMethod method, String path, Long userId,
+                                                                      @Nullable Map<String, Object> parameters,
+                                                                      @Nullable T body, CallTags tags) {
+        return measure(method, tags, () -> sendRequest(method, path, userId, parameters, body));
+    }
+
+    private <T> CompletableFuture<ResponseEntity<Object>> sendRequest(HttpMethod method, String path, Long userId,
+                                                                      @Nullable Map<String, Object> parameters,
+                                                                      @Nullable T body) {
+        if (method == HttpMethod.GET) {
+            String ifNoneMatch = getIfNoneMatch();
+            return fetch(path, userId, parameters)
+                    .thenApply(response -> checkNotModified(response, ifNoneMatch));
+        }
+
+        if (responseCache == null) {
+            return exchange(method, path, userId, parameters, body);
+        }
+
+        URI uri = expandUri(path, parameters);
+        return exchange(method, path, userId, parameters, body)
+                .thenApply(response -> {
+                    if (response.getStatusCode().is2xxSuccessful()) {
+                        responseCache.invalidate(uri);
+                    }
+                    return response;
+                });
+    }
+
+    /**
+     * Запрос в спане ClientTracing и с таймером shareit.client.request (ClientMetrics), если метрики включены.
+     */
+    private CompletableFuture<ResponseEntity<Object>> measure(HttpMethod method, CallTags tags,
+                                                              Supplier<CompletableFuture<ResponseEntity<Object>>> call) {
+        Supplier<CompletableFuture<ResponseEntity<Object>>> tracedCall = clientTracing != null
+                ? () -> clientTracing.trace(clientName, method, call)
+                : call;
+
+        if (clientMetrics == null || !clientMetrics.isEnabled()) {
+            return tracedCall.get();
+        }
+        return clientMetrics.measure(clientName, method, tags, tracedCall);
+    }
+
+    /**
+     * GET к серверу; одинаковые одновременные запросы объединяются в один (RequestCoalescer).
+     */
+    private CompletableFuture<ResponseEntity<Object>> fetch(String path, @Nullable Long userId,
+                                                            @Nullable Map<String, Object> parameters) {
+        if (requestCoalescer == null || !requestCoalescer.isEnabled()) {
+            return exchange(HttpMethod.GET, path, userId, parameters, null).thenApply(BaseClient::withETag);
+        }
+
+        return requestCoalescer.execute(expandUri(path, parameters), userId,
+                () -> exchange(HttpMethod.GET, path, userId, parameters, null).thenApply(BaseClient::withETag));
+    }
+
+    private URI expandUri(String path, @Nullable Map<String, Object> parameters) {
+        return parameters != null ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+    }
+
+    private <T> CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, Long userId,
+                                                                   @Nullable Map<String, Object> parameters,
+                                                                   @Nullable T body) {
+        if (reactive && webClient != null) {
+            return makeAndSendReactiveRequest(method, path, userId, parameters, body).toFuture();
+        }
+        return CompletableFuture.completedFuture(makeAndSendRequest(method, path, userId, parameters, body));
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
+        if (passThrough) {
+            return makeAndSendPassThroughRequest(method, path, parameters, requestEntity);
+        }
+
         ResponseEntity<Object> shareitServerResponse;
         try {
             if (parameters != null) {
@@ -95,6 +391,123 @@ public class BaseClient {
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private <T> ResponseEntity<Object> makeAndSendPassThroughRequest(HttpMethod method, String path,
+                                                                     @Nullable Map<String, Object> parameters,
+                                                                     HttpEntity<T> requestEntity) {
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return prepareGatewayResponse(ResponseEntity.status(e.getStatusCode())
+                    .headers(passThroughHeaders(e.getResponseHeaders()))
+                    .body(e.getResponseBodyAsByteArray()));
+        }
+
+        return prepareGatewayResponse(ResponseEntity.status(shareitServerResponse.getStatusCode())
+                .headers(passThroughHeaders(shareitServerResponse.getHeaders()))
+                .body(shareitServerResponse.getBody()));
+    }
+
+    /**
+     * Ответ сервера в неблокирующем режиме всегда передается как есть (byte[]), ошибки сервера (4xx/5xx)
+     * возвращаются клиенту с тем же кодом и телом. Если очередь ожидания соединения переполнена
+     * или ожидание истекло, клиент получает 503.
+     */
+    private <T> Mono<ResponseEntity<Object>> makeAndSendReactiveRequest(HttpMethod method, String path, Long userId,
+                                                                        @Nullable Map<String, Object> parameters,
+                                                                        @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(defaultHeaders(userId)));
+
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+
+        return requestWithBody
+                .exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(response -> prepareGatewayResponse(ResponseEntity.status(response.getStatusCode())
+                        .headers(passThroughHeaders(response.getHeaders()))
+                        .body(response.getBody())))
+                .onErrorMap(BaseClient::isConnectionPoolExhausted, e -> new ApiErrorException(
+                        HttpStatus.SERVICE_UNAVAILABLE, "Превышен лимит одновременных запросов к серверу"));
+    }
+
+    private static boolean isConnectionPoolExhausted(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause() != cause ? cause.getCause() : null) {
+            if (POOL_EXHAUSTED_EXCEPTIONS.contains(cause.getClass().getSimpleName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static HttpHeaders passThroughHeaders(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                    headers.addAll(name, values);
+                }
+            });
+        }
+        return headers;
+    }
+
+    /**
+     * Сильный ETag по телу успешного ответа сервера (если сервер не прислал свой).
+     * Тело доступно в виде байтов только в режимах pass-through и reactive.
+     */
+    private static ResponseEntity<Object> withETag(ResponseEntity<Object> response) {
+        if (!response.getStatusCode().is2xxSuccessful() || !(response.getBody() instanceof byte[])
+                || response.getHeaders().getETag() != null) {
+            return response;
+        }
+
+        String eTag = "\"" + DigestUtils.md5DigestAsHex((byte[]) response.getBody()) + "\"";
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .eTag(eTag)
+                .body(response.getBody());
+    }
+
+    private static ResponseEntity<Object> checkNotModified(ResponseEntity<Object> response,
+                                                           @Nullable String ifNoneMatch) {
+        String eTag = response.getHeaders().getETag();
+        if (ifNoneMatch == null || eTag == null || !response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+
+        HttpHeaders conditionalHeaders = new HttpHeaders();
+        conditionalHeaders.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+
+        String strongETag = stripWeakPrefix(eTag);
+        boolean notModified = conditionalHeaders.getIfNoneMatch().stream()
+                .anyMatch(candidate -> candidate.equals("*") || stripWeakPrefix(candidate).equals(strongETag));
+
+        if (!notModified) {
+            return response;
+        }
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .build();
+    }
+
+    private static String stripWeakPrefix(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    @Nullable
+    private static String getIfNoneMatch() {
+        var requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes instanceof ServletRequestAttributes) {
+            return ((ServletRequestAttributes) requestAttributes).getRequest().getHeader(HttpHeaders.IF_NONE_MATCH);
+        }
+        return null;
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -102,6 +515,9 @@ public class BaseClient {
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        if (clientTracing != null) {
+            clientTracing.inject(headers);
+        }
         return headers;
     }
 
@@ -112,6 +528,11 @@ public class BaseClient {
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
 
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType != null) {
+            responseBuilder.contentType(contentType);
+        }
+
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
         }
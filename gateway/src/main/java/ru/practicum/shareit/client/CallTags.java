@@ -0,0 +1,19 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+
+/**
+ * Теги state и role таймера запроса к серверу (ClientMetrics): состояние и роль (booker/owner)
+ * списка бронирований. Для остальных запросов - {@link #NONE}.
+ */
+@Data
+public class CallTags {
+    public static final CallTags NONE = new CallTags(ClientMetrics.NONE, ClientMetrics.NONE);
+
+    private final String state;
+    private final String role;
+
+    public static CallTags of(Enum<?> state, String role) {
+        return new CallTags(state.name(), role);
+    }
+}
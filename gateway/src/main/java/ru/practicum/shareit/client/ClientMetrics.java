@@ -0,0 +1,99 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exceptions.ApiErrorException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Таймер shareit.client.request: время запроса клиента (*Client) к shareit-server до получения ответа,
+ * в том числе в неблокирующем режиме. Теги: client, method (HTTP), state и role (CallTags) и outcome -
+ * ok для ответов 2xx/3xx, иначе код статуса ответа или ApiErrorException, для прочих ошибок - имя класса исключения.
+ */
+@Component
+public class ClientMetrics {
+    public static final String NONE = "none";
+
+    private static final String OK = "ok";
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+
+    private final Map<CallKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public ClientMetrics(MeterRegistry meterRegistry,
+                         @Value("${shareit-server.metrics.enabled:true}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> measure(String client, HttpMethod method, CallTags tags,
+                                                             Supplier<CompletableFuture<ResponseEntity<Object>>> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get().whenComplete((response, e) ->
+                    record(client, method, tags, e != null ? outcome(e) : outcome(response), start));
+        } catch (RuntimeException e) {
+            record(client, method, tags, outcome(e), start);
+            throw e;
+        }
+    }
+
+    private void record(String client, HttpMethod method, CallTags tags, String outcome, long start) {
+        long duration = System.nanoTime() - start;
+        timers.computeIfAbsent(new CallKey(client, method, tags, outcome), this::createTimer)
+                .record(duration, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer createTimer(CallKey key) {
+        return Timer.builder("shareit.client.request")
+                .description("Время запроса к shareit-server")
+                .tag("client", key.getClient())
+                .tag("method", key.getMethod().name())
+                .tag("state", key.getTags().getState())
+                .tag("role", key.getTags().getRole())
+                .tag("outcome", key.getOutcome())
+                .register(meterRegistry);
+    }
+
+    private static String outcome(@Nullable ResponseEntity<Object> response) {
+        if (response == null || response.getStatusCode().is2xxSuccessful()
+                || response.getStatusCode().is3xxRedirection()) {
+            return OK;
+        }
+        return String.valueOf(response.getStatusCodeValue());
+    }
+
+    private static String outcome(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof ApiErrorException) {
+            return String.valueOf(((ApiErrorException) cause).getStatusCode().value());
+        }
+        return cause.getClass().getSimpleName();
+    }
+
+    @Data
+    private static class CallKey {
+        private final String client;
+        private final HttpMethod method;
+        private final CallTags tags;
+        private final String outcome;
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.client;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.tracing.TracingConfig;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Спан запроса клиента (*Client) к shareit-server (CLIENT), от отправки до получения ответа, в том числе
+ * в неблокирующем режиме. Пока запрос формируется, спан текущий, поэтому traceparent в заголовках запроса
+ * (BaseClient.defaultHeaders) указывает на него, и спаны сервера становятся его дочерними.
+ */
+@Component
+public class ClientTracing {
+
+    private final Tracer tracer;
+
+    private final TextMapPropagator propagator;
+
+    public ClientTracing(OpenTelemetry openTelemetry) {
+        this.tracer = openTelemetry.getTracer(TracingConfig.INSTRUMENTATION_NAME);
+        this.propagator = openTelemetry.getPropagators().getTextMapPropagator();
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> trace(String client, HttpMethod method,
+                                                           Supplier<CompletableFuture<ResponseEntity<Object>>> call) {
+        Span span = tracer.spanBuilder(client + " " + method.name())
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute("http.request.method", method.name())
+                .startSpan();
+
+        CompletableFuture<ResponseEntity<Object>> response;
+        try (Scope ignored = span.makeCurrent()) {
+            response = call.get();
+        } catch (RuntimeException e) {
+            end(span, null, e);
+            throw e;
+        }
+        return response.whenComplete((result, e) -> end(span, result, e));
+    }
+
+    /**
+     * Добавляет в заголовки запроса traceparent текущего спана.
+     */
+    public void inject(HttpHeaders headers) {
+        propagator.inject(Context.current(), headers, HttpHeaders::set);
+    }
+
+    private static void end(Span span, @Nullable ResponseEntity<Object> response, @Nullable Throwable error) {
+        if (response != null) {
+            span.setAttribute("http.response.status_code", response.getStatusCodeValue());
+            if (response.getStatusCode().is5xxServerError()) {
+                span.setStatus(StatusCode.ERROR);
+            }
+        }
+        if (error != null) {
+            span.recordException(error);
+            span.setStatus(StatusCode.ERROR);
+        }
+        span.end();
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кэш ответов сервера на GET-запросы с коротким временем жизни. Ключ - полный URI запроса и X-Sharer-User-Id.
+ * Успешный PATCH/POST/DELETE через этот же gateway удаляет из кэша ответы по измененному ресурсу,
+ * вложенным в него и содержащим его ресурсам (например, POST /items/1/comment удаляет GET /items/1),
+ * а также все ответы коллекций, в которые сервер встраивает данные измененной коллекции (DEPENDENT_RESOURCES).
+ */
+@Slf4j
+@Component
+public class GatewayResponseCache {
+
+    // GET /items/{id} владельца содержит последнее и следующее бронирования и имена авторов комментариев,
+    // GET /bookings/{id} - предмет и бронирующего, GET /requests/{id} - предметы и автора запроса
+    private static final Map<String, Set<String>> DEPENDENT_RESOURCES = Map.of(
+            "bookings", Set.of("items"),
+            "items", Set.of("bookings", "requests"),
+            "users", Set.of("items", "bookings", "requests")
+    );
+
+    private final Cache<CacheKey, ResponseEntity<Object>> cache;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final boolean enabled;
+
+    public GatewayResponseCache(@Value("${shareit-server.cache.enabled:true}") boolean enabled,
+                                @Value("${shareit-server.cache.ttl-ms:2000}") long ttl,
+                                @Value("${shareit-server.cache.max-size:10000}") long maxSize) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttl))
+                .maximumSize(maxSize)
+                .build();
+
+        log.info("Кэш ответов shareit-server: enabled={}, ttl={} мс, maxSize={}", enabled, ttl, maxSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Номер поколения кэша: увеличивается при каждой инвалидации. Ответ, запрошенный до инвалидации,
+     * в кэш не сохраняется (см. put).
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    @Nullable
+    public ResponseEntity<Object> get(URI uri, @Nullable Long userId) {
+        return cache.getIfPresent(new CacheKey(uri, userId));
+    }
+
+    public void put(URI uri, @Nullable Long userId, ResponseEntity<Object> response, long requestGeneration) {
+        if (requestGeneration != generation.get()) {
+            return;
+        }
+        cache.put(new CacheKey(uri, userId), response);
+    }
+
+    public void invalidate(URI uri) {
+        generation.incrementAndGet();
+
+        String changedPath = uri.getPath();
+        Set<String> dependentResources = DEPENDENT_RESOURCES.getOrDefault(getResource(changedPath), Set.of());
+
+        cache.asMap().keySet().removeIf(key -> isRelated(key.getUri().getPath(), changedPath)
+                || dependentResources.contains(getResource(key.getUri().getPath())));
+    }
+
+    /**
+     * Первый сегмент пути - коллекция ресурса (например, items для /items/1/comment).
+     */
+    private static String getResource(String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+
+    private static boolean isRelated(String cachedPath, String changedPath) {
+        return isSameOrNested(cachedPath, changedPath) || isSameOrNested(changedPath, cachedPath);
+    }
+
+    private static boolean isSameOrNested(String path, String parentPath) {
+        String parent = parentPath.endsWith("/") ? parentPath.substring(0, parentPath.length() - 1) : parentPath;
+        return path.equals(parent) || path.startsWith(parent + "/");
+    }
+
+    @Data
+    private static class CacheKey {
+        private final URI uri;
+        private final Long userId;
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Общий пул HTTP-соединений gateway -> server для всех наследников BaseClient.
+ * Метрики пула (leased/available/pending) публикуются в actuator как httpcomponents.httpclient.pool.*
+ */
+@Slf4j
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${shareit-server.http.max-total:200}")
+    private int maxTotal;
+
+    @Value("${shareit-server.http.max-per-route:100}")
+    private int maxPerRoute;
+
+    @Value("${shareit-server.http.connect-timeout-ms:2000}")
+    private int connectTimeout;
+
+    @Value("${shareit-server.http.read-timeout-ms:10000}")
+    private int readTimeout;
+
+    @Value("${shareit-server.http.connection-request-timeout-ms:2000}")
+    private int connectionRequestTimeout;
+
+    @Value("${shareit-server.http.keep-alive-ms:30000}")
+    private long keepAlive;
+
+    @Value("${shareit-server.http.idle-eviction-ms:30000}")
+    private long idleEviction;
+
+    @Value("${shareit-server.http.validate-after-inactivity-ms:2000}")
+    private int validateAfterInactivity;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager shareitServerConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivity);
+
+        log.info("Пул соединений с shareit-server: maxTotal={}, maxPerRoute={}", maxTotal, maxPerRoute);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient shareitServerHttpClient(PoolingHttpClientConnectionManager connectionManager) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setSocketTimeout(readTimeout)
+                .setConnectionRequestTimeout(connectionRequestTimeout)
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy())
+                .evictExpiredConnections()
+                .evictIdleConnections(idleEviction, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public ClientHttpRequestFactory shareitServerRequestFactory(CloseableHttpClient httpClient) {
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    /**
+     * Фабрика для потоковой передачи тела запроса (массовый импорт): тело не буферизуется в памяти gateway,
+     * а передается серверу по мере чтения (chunked). Использует тот же пул соединений.
+     */
+    @Bean
+    public ClientHttpRequestFactory shareitServerStreamingRequestFactory(CloseableHttpClient httpClient) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setBufferRequestBody(false);
+        return requestFactory;
+    }
+
+    @Bean
+    public MeterBinder shareitServerConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server");
+    }
+
+    /**
+     * Время жизни соединения берется из заголовка Keep-Alive ответа сервера, а если его нет - из настроек.
+     */
+    private ConnectionKeepAliveStrategy keepAliveStrategy() {
+        return (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? serverKeepAlive : keepAlive;
+        };
+    }
+}
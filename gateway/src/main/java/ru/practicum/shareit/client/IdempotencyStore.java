@@ -0,0 +1,87 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exceptions.ApiErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Ответы на изменяющие запросы с заголовком Idempotency-Key. Повтор запроса с тем же ключом от того же пользователя
+ * не отправляется на сервер, а получает сохраненный (или еще выполняющийся) ответ первого запроса.
+ * Ответы 5xx и ошибки соединения не сохраняются, чтобы повтор мог быть выполнен заново.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private final Cache<IdempotencyKey, StoredRequest> requests;
+
+    public IdempotencyStore(@Value("${shareit-server.idempotency.ttl-minutes:60}") long ttl,
+                            @Value("${shareit-server.idempotency.max-size:100000}") long maxSize) {
+        this.requests = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(ttl))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * @param fingerprint описание запроса (метод, путь и параметры): тот же ключ с другим запросом отклоняется
+     */
+    public CompletableFuture<ResponseEntity<Object>> execute(String idempotencyKey, @Nullable Long userId,
+                                                             String fingerprint,
+                                                             Supplier<CompletableFuture<ResponseEntity<Object>>> call) {
+        IdempotencyKey key = new IdempotencyKey(idempotencyKey, userId);
+        StoredRequest created = new StoredRequest(fingerprint, new CompletableFuture<>());
+
+        StoredRequest existing = requests.asMap().putIfAbsent(key, created);
+        if (existing != null) {
+            if (!existing.getFingerprint().equals(fingerprint)) {
+                throw new ApiErrorException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Ключ идемпотентности '" + idempotencyKey + "' уже использован для другого запроса");
+            }
+            log.info("Повтор запроса {} с ключом идемпотентности '{}', ответ взят из сохраненного", fingerprint,
+                    idempotencyKey);
+            return existing.getResponse();
+        }
+
+        try {
+            call.get().whenComplete((response, e) -> {
+                if (e != null || response.getStatusCode().is5xxServerError()) {
+                    requests.asMap().remove(key, created);
+                }
+
+                if (e != null) {
+                    created.getResponse().completeExceptionally(e);
+                } else {
+                    created.getResponse().complete(response);
+                }
+            });
+        } catch (RuntimeException e) {
+            requests.asMap().remove(key, created);
+            created.getResponse().completeExceptionally(e);
+        }
+        return created.getResponse();
+    }
+
+    @Data
+    private static class IdempotencyKey {
+        private final String key;
+        private final Long userId;
+    }
+
+    @Data
+    private static class StoredRequest {
+        private final String fingerprint;
+        private final CompletableFuture<ResponseEntity<Object>> response;
+    }
+}
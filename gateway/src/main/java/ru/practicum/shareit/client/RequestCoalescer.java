@@ -0,0 +1,84 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Объединение одинаковых одновременных GET-запросов (single-flight): пока запрос к серверу с тем же URI
+ * и X-Sharer-User-Id выполняется, новые запросы не уходят на сервер, а получают его результат.
+ * Метрики: gateway.upstream.requests{result=forwarded|coalesced}, gateway.upstream.in-flight
+ */
+@Component
+public class RequestCoalescer {
+
+    private final Map<RequestKey, CompletableFuture<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+
+    private final Counter forwarded;
+
+    private final Counter coalesced;
+
+    public RequestCoalescer(@Value("${shareit-server.coalescing.enabled:true}") boolean enabled,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.forwarded = Counter.builder("gateway.upstream.requests")
+                .description("GET-запросы, отправленные на shareit-server")
+                .tag("result", "forwarded")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("gateway.upstream.requests")
+                .description("GET-запросы, получившие результат уже выполняющегося запроса")
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        meterRegistry.gauge("gateway.upstream.in-flight", inFlight, Map::size);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> execute(URI uri, @Nullable Long userId,
+                                                             Supplier<CompletableFuture<ResponseEntity<Object>>> call) {
+        RequestKey key = new RequestKey(uri, userId);
+        CompletableFuture<ResponseEntity<Object>> result = new CompletableFuture<>();
+
+        CompletableFuture<ResponseEntity<Object>> existing = inFlight.putIfAbsent(key, result);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+
+        forwarded.increment();
+        try {
+            call.get().whenComplete((response, e) -> {
+                inFlight.remove(key, result);
+                if (e != null) {
+                    result.completeExceptionally(e);
+                } else {
+                    result.complete(response);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, result);
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    @Data
+    private static class RequestKey {
+        private final URI uri;
+        private final Long userId;
+    }
+}
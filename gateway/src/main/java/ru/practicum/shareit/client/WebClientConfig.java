@@ -0,0 +1,68 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Неблокирующий транспорт gateway -> server (режим shareit-server.reactive.enabled).
+ * Пул и коннектор создаются только при включенном режиме, иначе клиенты работают без WebClient.
+ * Число одновременных запросов к серверу ограничено max-in-flight, остальные ждут в очереди длиной max-pending
+ * не дольше pending-timeout-ms; при переполнении очереди BaseClient отвечает 503.
+ * Метрики пула публикуются в actuator как reactor.netty.connection.provider.*
+ */
+@Slf4j
+@Configuration
+public class WebClientConfig {
+
+    @Value("${shareit-server.reactive.max-in-flight:500}")
+    private int maxInFlight;
+
+    @Value("${shareit-server.reactive.max-pending:1000}")
+    private int maxPending;
+
+    @Value("${shareit-server.reactive.pending-timeout-ms:2000}")
+    private long pendingTimeout;
+
+    @Value("${shareit-server.http.connect-timeout-ms:2000}")
+    private int connectTimeout;
+
+    @Value("${shareit-server.http.read-timeout-ms:10000}")
+    private long readTimeout;
+
+    @Value("${shareit-server.http.idle-eviction-ms:30000}")
+    private long idleEviction;
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty("shareit-server.reactive.enabled")
+    public ConnectionProvider shareitServerConnectionProvider() {
+        log.info("Неблокирующий пул соединений с shareit-server: maxInFlight={}, maxPending={}",
+                maxInFlight, maxPending);
+
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxInFlight)
+                .pendingAcquireMaxCount(maxPending)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingTimeout))
+                .maxIdleTime(Duration.ofMillis(idleEviction))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty("shareit-server.reactive.enabled")
+    public ReactorClientHttpConnector shareitServerConnector(ConnectionProvider connectionProvider) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
+                .responseTimeout(Duration.ofMillis(readTimeout));
+
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
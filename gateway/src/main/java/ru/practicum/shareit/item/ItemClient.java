@@ -3,53 +3,69 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.comments.CommentsDto;
 
+import java.io.InputStream;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory shareitServerRequestFactory,
+                      WebClient.Builder webClientBuilder,
+                      @Nullable ReactorClientHttpConnector shareitServerConnector) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareitServerRequestFactory)
+                        .build(),
+                buildWebClient(webClientBuilder, serverUrl + API_PREFIX, shareitServerConnector)
         );
     }
 
-    public ResponseEntity<Object> createItem(ItemDto itemDto, Long ownerId) {
+    public CompletableFuture<ResponseEntity<Object>> createItem(ItemDto itemDto, Long ownerId) {
         return post("/", ownerId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(ItemDto itemDto, Long itemId, Long ownerId) {
+    public CompletableFuture<ResponseEntity<Object>> createItems(InputStream items, Long ownerId) {
+        return postStream("/bulk", ownerId, items, MediaType.APPLICATION_NDJSON);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> updateItem(ItemDto itemDto, Long itemId, Long ownerId) {
         return patch("/" + itemId, ownerId, itemDto);
     }
 
-    public ResponseEntity<Object> getItem(Long itemId, Long userId) {
-        return get("/" + itemId, userId);
+    public CompletableFuture<ResponseEntity<Object>> getItem(Long itemId, Long userId) {
+        return getCacheable("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getItemsByOwnerId(Long ownerId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemsByOwnerId(Long ownerId) {
         return get("/", ownerId);
     }
 
-    public ResponseEntity<Object> getSearchedItems(Long ownerId, String searchString) {
+    public CompletableFuture<ResponseEntity<Object>> getSearchedItems(Long ownerId, String searchString, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
-             "text", searchString
+             "text", searchString,
+             "from", from,
+             "size", size
         );
-        return get("/search?text={text}", ownerId, parameters);
+        return get("/search?text={text}&from={from}&size={size}", ownerId, parameters);
     }
 
-    public ResponseEntity<Object> createComment(CommentsDto commentsDto, Long itemId, Long authorId) {
+    public CompletableFuture<ResponseEntity<Object>> createComment(CommentsDto commentsDto, Long itemId, Long authorId) {
         return post("/" + itemId + "/comment", authorId, commentsDto);
     }
 }
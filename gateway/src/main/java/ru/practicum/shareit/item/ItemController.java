@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -13,6 +14,8 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -23,64 +26,77 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestBody @Validated(Create.class) ItemDto itemDto,
-                                             @Valid @RequestHeader(value = "X-Sharer-User-Id", required = false)
-                                                    @NotNull(message = "Значение 'ownerId' не может быть равно null")
-                                                    @PositiveOrZero(message = "Значение 'ownerId' не может быть отрицательным числом") Long ownerId) {
+    public CompletableFuture<ResponseEntity<Object>> createItem(@RequestBody @Validated(Create.class) ItemDto itemDto,
+                                                                @Valid @RequestHeader(value = "X-Sharer-User-Id", required = false)
+                                                                       @NotNull(message = "Значение 'ownerId' не может быть равно null")
+                                                                       @PositiveOrZero(message = "Значение 'ownerId' не может быть отрицательным числом") Long ownerId) {
         log.info("Запрос на создание новой записи");
         return itemClient.createItem(itemDto, ownerId);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public CompletableFuture<ResponseEntity<Object>> createItems(InputStream items,
+                                                                 @Valid @RequestHeader(value = "X-Sharer-User-Id", required = false)
+                                                                        @NotNull(message = "Значение 'ownerId' не может быть равно null")
+                                                                        @PositiveOrZero(message = "Значение 'ownerId' не может быть отрицательным числом") Long ownerId) {
+        log.info("Запрос на массовое создание предметов пользователя с ID={}", ownerId);
+        return itemClient.createItems(items, ownerId);
+    }
+
     @PostMapping(value = "/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@Valid @RequestBody CommentsDto commentsDto,
-                                                @Valid @PathVariable("itemId")
-                                                       @NotNull(message = "Значение 'itemId' не может быть равно null")
-                                                       @Positive(message = "Значение 'itemId' должно быть положительным числом больше нуля") Long itemId,
-                                                @Valid @RequestHeader(value = "X-Sharer-User-Id", required = false)
-                                                       @NotNull(message = "Значение 'authorId' не может быть равно null")
-                                                       @PositiveOrZero(message = "Значение 'authorId' не может быть отрицательным числом") Long authorId) {
+    public CompletableFuture<ResponseEntity<Object>> createComment(@Valid @RequestBody CommentsDto commentsDto,
+                                                                   @Valid @PathVariable("itemId")
+                                                                          @NotNull(message = "Значение 'itemId' не может быть равно null")
+                                                                          @Positive(message = "Значение 'itemId' должно быть положительным числом больше нуля") Long itemId,
+                                                                   @Valid @RequestHeader(value = "X-Sharer-User-Id", required = false)
+                                                                          @NotNull(message = "Значение 'authorId' не может быть равно null")
+                                                                          @PositiveOrZero(message = "Значение 'authorId' не может быть отрицательным числом") Long authorId) {
         log.info("Запрос на создание нового комментария");
         return itemClient.createComment(commentsDto, itemId, authorId);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateItem(@RequestBody @Validated(Update.class) ItemDto itemDto,
-                                             @Valid @PathVariable("id")
-                                                    @NotNull(message = "Значение 'itemId' не может быть равно null")
-                                                    @Positive(message = "Значение 'itemId' должно быть положительным числом больше нуля") Long itemId,
-                                             @Valid @RequestHeader(value = "X-Sharer-User-Id", required = false)
-                                                    @NotNull(message = "Значение 'ownerId' не может быть равно null")
-                                                    @PositiveOrZero(message = "Значение 'ownerId' не может быть отрицательным числом") Long ownerId) {
+    public CompletableFuture<ResponseEntity<Object>> updateItem(@RequestBody @Validated(Update.class) ItemDto itemDto,
+                                                                @Valid @PathVariable("id")
+                                                                       @NotNull(message = "Значение 'itemId' не может быть равно null")
+                                                                       @Positive(message = "Значение 'itemId' должно быть положительным числом больше нуля") Long itemId,
+                                                                @Valid @RequestHeader(value = "X-Sharer-User-Id", required = false)
+                                                                       @NotNull(message = "Значение 'ownerId' не может быть равно null")
+                                                                       @PositiveOrZero(message = "Значение 'ownerId' не может быть отрицательным числом") Long ownerId) {
         log.info("Запрос на обновление текущей записи");
         return itemClient.updateItem(itemDto, itemId, ownerId);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getItem(@Valid @PathVariable("id")
-                                                 @NotNull(message = "Значение 'itemId' не может быть равно null")
-                                                 @Positive(message = "Значение 'itemId' должно быть положительным числом больше нуля") Long itemId,
-                                          @Valid @RequestHeader(value = "X-Sharer-User-Id", required = false)
-                                                 @NotNull(message = "Значение 'userId' не может быть равно null")
-                                                 @PositiveOrZero(message = "Значение 'userId' не может быть отрицательным числом") Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getItem(@Valid @PathVariable("id")
+                                                                    @NotNull(message = "Значение 'itemId' не может быть равно null")
+                                                                    @Positive(message = "Значение 'itemId' должно быть положительным числом больше нуля") Long itemId,
+                                                             @Valid @RequestHeader(value = "X-Sharer-User-Id", required = false)
+                                                                    @NotNull(message = "Значение 'userId' не может быть равно null")
+                                                                    @PositiveOrZero(message = "Значение 'userId' не может быть отрицательным числом") Long userId) {
         log.info("Запрос на получение данных предмета с ID={}", itemId);
         return itemClient.getItem(itemId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemsByOwnerId(@Valid @RequestHeader(value = "X-Sharer-User-Id", required = false)
-                                                           @NotNull(message = "Значение 'ownerId' не может быть равно null")
-                                                           @PositiveOrZero(message = "Значение 'ownerId' не может быть отрицательным числом") Long ownerId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemsByOwnerId(@Valid @RequestHeader(value = "X-Sharer-User-Id", required = false)
+                                                                              @NotNull(message = "Значение 'ownerId' не может быть равно null")
+                                                                              @PositiveOrZero(message = "Значение 'ownerId' не может быть отрицательным числом") Long ownerId) {
         log.info("Запрос на получение данных предметов пользователя с ID={}", ownerId);
         return itemClient.getItemsByOwnerId(ownerId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItem(@Valid @RequestParam(name = "text")
-                                                    @NotNull(message = "Строка поиска не может быть равна null") String searchString,
-                                             @Valid @RequestHeader(value = "X-Sharer-User-Id", required = false)
-                                                    @NotNull(message = "Значение 'ownerId' не может быть равно null")
-                                                    @PositiveOrZero(message = "Значение 'ownerId' не может быть отрицательным числом") Long ownerId) {
-        log.info("Запрос на поиск предметов со строкой поиска '{}'", searchString);
-        return itemClient.getSearchedItems(ownerId, searchString);
+    public CompletableFuture<ResponseEntity<Object>> searchItem(@Valid @RequestParam(name = "text")
+                                                                       @NotNull(message = "Строка поиска не может быть равна null") String searchString,
+                                                                @Valid @RequestHeader(value = "X-Sharer-User-Id", required = false)
+                                                                       @NotNull(message = "Значение 'ownerId' не может быть равно null")
+                                                                       @PositiveOrZero(message = "Значение 'ownerId' не может быть отрицательным числом") Long ownerId,
+                                                                @Valid @RequestParam(value = "from", required = false, defaultValue = 0 + "")
+                                                                       @PositiveOrZero(message = "Параметр 'from' должен быть положительным числом") Integer from,
+                                                                @Valid @RequestParam(value = "size", required = false, defaultValue = Integer.MAX_VALUE + "")
+                                                                       @Positive(message = "Параметр 'size' должен быть положительным числом больше 0") Integer size) {
+        log.info("Запрос на поиск предметов со строкой поиска '{}' со страницы {} по {} предметов на странице", searchString, from, size);
+        return itemClient.getSearchedItems(ownerId, searchString, from, size);
     }
 }
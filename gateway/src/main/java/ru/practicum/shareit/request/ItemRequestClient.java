@@ -4,40 +4,48 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory shareitServerRequestFactory,
+                             WebClient.Builder webClientBuilder,
+                             @Nullable ReactorClientHttpConnector shareitServerConnector) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareitServerRequestFactory)
+                        .build(),
+                buildWebClient(webClientBuilder, serverUrl + API_PREFIX, shareitServerConnector)
         );
     }
 
-    public ResponseEntity<Object> createItemRequest(ItemRequestDto itemRequestDto, Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> createItemRequest(ItemRequestDto itemRequestDto, Long userId) {
         return post("/", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getAllItemRequestByUser(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getAllItemRequestByUser(Long userId) {
         return get("/", userId);
     }
 
-    public ResponseEntity<Object> getAllItemRequestByIdAndUser(Long requestId, Long userId) {
-        return get("/" + requestId, userId);
+    public CompletableFuture<ResponseEntity<Object>> getAllItemRequestByIdAndUser(Long requestId, Long userId) {
+        return getCacheable("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> getPageItemRequestByUser(Long userId, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getPageItemRequestByUser(Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -3,43 +3,58 @@ package ru.practicum.shareit.user;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory shareitServerRequestFactory,
+                      WebClient.Builder webClientBuilder,
+                      @Nullable ReactorClientHttpConnector shareitServerConnector) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareitServerRequestFactory)
+                        .build(),
+                buildWebClient(webClientBuilder, serverUrl + API_PREFIX, shareitServerConnector)
         );
     }
 
-    public ResponseEntity<Object> getUsersList() {
+    public CompletableFuture<ResponseEntity<Object>> getUsersList() {
         return get("/");
     }
 
-    public ResponseEntity<Object> getUser(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUser(Long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> createUser(UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(UserDto userDto) {
         return post("/", userDto);
     }
 
-    public ResponseEntity<Object> updateUser(UserDto userDto, Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> createUsers(InputStream users) {
+        return postStream("/bulk", null, users, MediaType.APPLICATION_NDJSON);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> updateUser(UserDto userDto, Long userId) {
         return patch("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> deleteUser(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteUser(Long userId) {
         return delete("/" + userId);
     }
 }
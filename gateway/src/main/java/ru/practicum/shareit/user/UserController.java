@@ -2,6 +2,7 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -11,6 +12,8 @@ import ru.practicum.shareit.labels.Update;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/users")
@@ -22,35 +25,41 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getUsersList() {
+    public CompletableFuture<ResponseEntity<Object>> getUsersList() {
         log.info("Запрос на получение списка пользователей");
         return userClient.getUsersList();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getUser(@Valid @PathVariable("id")
-                                                 @Positive(message = "Значение 'userId' должно быть положительным числом больше 0") Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUser(@Valid @PathVariable("id")
+                                                                    @Positive(message = "Значение 'userId' должно быть положительным числом больше 0") Long userId) {
         log.info("Запрос на получение данных пользователя с ID={}", userId);
         return userClient.getUser(userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@RequestBody @Validated(Create.class) UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(@RequestBody @Validated(Create.class) UserDto userDto) {
         log.info("Запрос на создание новой записи");
         return userClient.createUser(userDto);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public CompletableFuture<ResponseEntity<Object>> createUsers(InputStream users) {
+        log.info("Запрос на массовое создание пользователей");
+        return userClient.createUsers(users);
+    }
+
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateUser(@RequestBody @Validated(Update.class) UserDto userDto,
-                                             @Valid @PathVariable("id")
-                                                    @Positive(message = "Значение 'userId' должно быть положительным числом больше 0") Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> updateUser(@RequestBody @Validated(Update.class) UserDto userDto,
+                                                                @Valid @PathVariable("id")
+                                                                       @Positive(message = "Значение 'userId' должно быть положительным числом больше 0") Long userId) {
         log.info("Запрос на обновление записи с id = {}", userId);
         return userClient.updateUser(userDto, userId);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> deleteUser(@Valid @PathVariable("id")
-                                                    @Positive(message = "Значение 'userId' должно быть положительным числом больше 0") Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteUser(@Valid @PathVariable("id")
+                                                                       @Positive(message = "Значение 'userId' должно быть положительным числом больше 0") Long userId) {
         log.info("Запрос на удаление записи с id = {}", userId);
         return userClient.deleteUser(userId);
     }
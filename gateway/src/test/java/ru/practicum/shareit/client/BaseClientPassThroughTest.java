@@ -0,0 +1,128 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * BaseClient в режиме pass-through (shareit-server.pass-through=true) против заглушки сервера.
+ */
+class BaseClientPassThroughTest {
+
+    private static final StubShareItServer SERVER = new StubShareItServer();
+
+    private static final byte[] ERROR_JSON = "{\"error\":\"Предмет не найден\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final TestClient client = new TestClient(SERVER.getUrl());
+
+    @BeforeEach
+    void setUp() {
+        SERVER.reset();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.close();
+    }
+
+    @Test
+    void successfulResponsePassesThroughUnchanged() {
+        SERVER.respond(201, Map.of(
+                "Content-Type", List.of("application/json;charset=UTF-8"),
+                "Cache-Control", List.of("no-cache"),
+                "X-Total-Count", List.of("1", "2")
+        ), StubShareItServer.ITEM_JSON);
+
+        ResponseEntity<Object> response = client.createItem();
+
+        Assertions.assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        Assertions.assertArrayEquals(StubShareItServer.ITEM_JSON, (byte[]) response.getBody());
+        Assertions.assertEquals(MediaType.parseMediaType("application/json;charset=UTF-8"),
+                response.getHeaders().getContentType());
+        Assertions.assertEquals(List.of("no-cache"), response.getHeaders().get(HttpHeaders.CACHE_CONTROL));
+        Assertions.assertEquals(List.of("1", "2"), response.getHeaders().get("X-Total-Count"));
+    }
+
+    @Test
+    void hopByHopHeadersAreDropped() {
+        SERVER.respond(200, Map.of(
+                "Content-Type", List.of("application/json"),
+                "Keep-Alive", List.of("timeout=5"),
+                "Proxy-Authenticate", List.of("Basic"),
+                "Trailer", List.of("Expires")
+        ), StubShareItServer.ITEM_JSON);
+
+        ResponseEntity<Object> response = client.getItem();
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertArrayEquals(StubShareItServer.ITEM_JSON, (byte[]) response.getBody());
+        Assertions.assertFalse(response.getHeaders().containsKey("Keep-Alive"));
+        Assertions.assertFalse(response.getHeaders().containsKey(HttpHeaders.PROXY_AUTHENTICATE));
+        Assertions.assertFalse(response.getHeaders().containsKey(HttpHeaders.TRAILER));
+        Assertions.assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+        Assertions.assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+    }
+
+    @Test
+    void clientErrorKeepsOnlyServerContentType() {
+        SERVER.respond(404, Map.of(
+                "Content-Type", List.of("application/problem+json"),
+                "X-Total-Count", List.of("0")
+        ), ERROR_JSON);
+
+        ResponseEntity<Object> response = client.getItem();
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        Assertions.assertArrayEquals(ERROR_JSON, (byte[]) response.getBody());
+        Assertions.assertEquals(Set.of(HttpHeaders.CONTENT_TYPE), response.getHeaders().keySet());
+        Assertions.assertEquals(MediaType.APPLICATION_PROBLEM_JSON, response.getHeaders().getContentType());
+    }
+
+    @Test
+    void serverErrorKeepsOnlyServerContentType() {
+        SERVER.respond(500, Map.of(
+                "Content-Type", List.of("application/json"),
+                "Retry-After", List.of("10")
+        ), ERROR_JSON);
+
+        ResponseEntity<Object> response = client.createItem();
+
+        Assertions.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        Assertions.assertArrayEquals(ERROR_JSON, (byte[]) response.getBody());
+        Assertions.assertEquals(Set.of(HttpHeaders.CONTENT_TYPE), response.getHeaders().keySet());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+    }
+
+    private static class TestClient extends BaseClient {
+
+        TestClient(String serverUrl) {
+            super(new RestTemplateBuilder()
+                    .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/items"))
+                    .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                    .build());
+            ReflectionTestUtils.setField(this, "passThrough", true);
+        }
+
+        ResponseEntity<Object> getItem() {
+            return get("/1", 1L).join();
+        }
+
+        ResponseEntity<Object> createItem() {
+            return post("", 1L, Map.of("name", "Дрель")).join();
+        }
+    }
+}
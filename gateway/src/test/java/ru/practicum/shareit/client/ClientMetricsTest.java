@@ -0,0 +1,69 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exceptions.ApiErrorException;
+
+import java.util.concurrent.CompletableFuture;
+
+class ClientMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ClientMetrics clientMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clientMetrics = new ClientMetrics(meterRegistry, true);
+    }
+
+    @Test
+    void successfulCallIsTaggedWithStateAndRole() {
+        clientMetrics.measure("BookingClient", HttpMethod.GET, new CallTags("PAST", "owner"),
+                () -> CompletableFuture.completedFuture(ResponseEntity.ok("bookings"))).join();
+
+        Assertions.assertEquals(1, timer("BookingClient", "GET", "PAST", "owner", "ok").count());
+    }
+
+    @Test
+    void errorResponseIsTaggedWithStatusCode() {
+        clientMetrics.measure("ItemClient", HttpMethod.GET, CallTags.NONE,
+                () -> CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND).build())).join();
+
+        Assertions.assertEquals(1, timer("ItemClient", "GET", "none", "none", "404").count());
+    }
+
+    @Test
+    void exceptionIsTaggedWithApiErrorStatus() {
+        CompletableFuture<ResponseEntity<Object>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new ApiErrorException(HttpStatus.SERVICE_UNAVAILABLE, "Превышен лимит"));
+
+        var result = clientMetrics.measure("ItemClient", HttpMethod.POST, CallTags.NONE, () -> failed);
+
+        Assertions.assertTrue(result.isCompletedExceptionally());
+        Assertions.assertEquals(1, timer("ItemClient", "POST", "none", "none", "503").count());
+    }
+
+    @Test
+    void synchronousExceptionIsRecordedAndRethrown() {
+        Assertions.assertThrows(ApiErrorException.class, () ->
+                clientMetrics.measure("ItemClient", HttpMethod.POST, CallTags.NONE, () -> {
+                    throw new ApiErrorException(HttpStatus.BAD_GATEWAY, "Ошибка передачи данных на сервер");
+                }));
+
+        Assertions.assertEquals(1, timer("ItemClient", "POST", "none", "none", "502").count());
+    }
+
+    private Timer timer(String client, String method, String state, String role, String outcome) {
+        return meterRegistry.get("shareit.client.request")
+                .tags("client", client, "method", method, "state", state, "role", role, "outcome", outcome)
+                .timer();
+    }
+}
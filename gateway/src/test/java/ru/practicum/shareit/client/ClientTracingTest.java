@@ -0,0 +1,86 @@
+package ru.practicum.shareit.client;
+
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+
+class ClientTracingTest {
+
+    private InMemorySpanExporter spanExporter;
+
+    private SdkTracerProvider tracerProvider;
+
+    private ClientTracing clientTracing;
+
+    @BeforeEach
+    void setUp() {
+        spanExporter = InMemorySpanExporter.create();
+        tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                .build();
+        clientTracing = new ClientTracing(OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider)
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void requestHeadersCarryClientSpan() {
+        HttpHeaders headers = new HttpHeaders();
+
+        clientTracing.trace("BookingClient", HttpMethod.GET, () -> {
+            clientTracing.inject(headers);
+            return CompletableFuture.completedFuture(ResponseEntity.ok("bookings"));
+        }).join();
+
+        SpanData span = spanExporter.getFinishedSpanItems().get(0);
+        Assertions.assertEquals("BookingClient GET", span.getName());
+        Assertions.assertEquals(SpanKind.CLIENT, span.getKind());
+        Assertions.assertEquals("00-" + span.getTraceId() + "-" + span.getSpanId() + "-01",
+                headers.getFirst("traceparent"));
+    }
+
+    @Test
+    void spanEndsWhenResponseArrives() {
+        CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+
+        var result = clientTracing.trace("ItemClient", HttpMethod.POST, () -> response);
+        Assertions.assertTrue(spanExporter.getFinishedSpanItems().isEmpty());
+
+        response.complete(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        result.join();
+
+        SpanData span = spanExporter.getFinishedSpanItems().get(0);
+        Assertions.assertEquals(StatusCode.ERROR, span.getStatus().getStatusCode());
+    }
+
+    @Test
+    void noHeaderOutsideOfSpan() {
+        HttpHeaders headers = new HttpHeaders();
+
+        clientTracing.inject(headers);
+
+        Assertions.assertNull(headers.getFirst("traceparent"));
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+
+class GatewayResponseCacheTest {
+
+    private static final URI ITEM_URI = URI.create("http://localhost:9090/items/1");
+
+    private GatewayResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new GatewayResponseCache(true, 60_000, 100);
+    }
+
+    @Test
+    void responseIsCachedPerUser() {
+        cache.put(ITEM_URI, 1L, ResponseEntity.ok("item"), cache.getGeneration());
+
+        Assertions.assertNotNull(cache.get(ITEM_URI, 1L));
+        Assertions.assertNull(cache.get(ITEM_URI, 2L));
+    }
+
+    @Test
+    void changeOfResourceInvalidatesItForAllUsers() {
+        cache.put(ITEM_URI, 1L, ResponseEntity.ok("item"), cache.getGeneration());
+        cache.put(ITEM_URI, 2L, ResponseEntity.ok("item"), cache.getGeneration());
+
+        cache.invalidate(URI.create("http://localhost:9090/items/1"));
+
+        Assertions.assertNull(cache.get(ITEM_URI, 1L));
+        Assertions.assertNull(cache.get(ITEM_URI, 2L));
+    }
+
+    @Test
+    void changeOfNestedResourceInvalidatesParent() {
+        cache.put(ITEM_URI, 1L, ResponseEntity.ok("item"), cache.getGeneration());
+
+        cache.invalidate(URI.create("http://localhost:9090/items/1/comment"));
+
+        Assertions.assertNull(cache.get(ITEM_URI, 1L));
+    }
+
+    @Test
+    void changeOfOtherResourceKeepsCachedResponse() {
+        URI requestUri = URI.create("http://localhost:9090/requests/1");
+        cache.put(ITEM_URI, 1L, ResponseEntity.ok("item"), cache.getGeneration());
+
+        cache.invalidate(URI.create("http://localhost:9090/items/11"));
+        cache.invalidate(URI.create("http://localhost:9090/requests/2"));
+
+        Assertions.assertNotNull(cache.get(ITEM_URI, 1L));
+
+        cache.put(requestUri, 1L, ResponseEntity.ok("request"), cache.getGeneration());
+
+        cache.invalidate(URI.create("http://localhost:9090/requests/11"));
+
+        Assertions.assertNotNull(cache.get(requestUri, 1L));
+    }
+
+    @Test
+    void changeOfBookingInvalidatesItems() {
+        cache.put(ITEM_URI, 1L, ResponseEntity.ok("item"), cache.getGeneration());
+
+        cache.invalidate(URI.create("http://localhost:9090/bookings/2?approved=true"));
+
+        Assertions.assertNull(cache.get(ITEM_URI, 1L));
+    }
+
+    @Test
+    void changeOfItemInvalidatesBookingsAndRequests() {
+        URI bookingUri = URI.create("http://localhost:9090/bookings/1");
+        URI requestUri = URI.create("http://localhost:9090/requests/1");
+        cache.put(bookingUri, 1L, ResponseEntity.ok("booking"), cache.getGeneration());
+        cache.put(requestUri, 1L, ResponseEntity.ok("request"), cache.getGeneration());
+
+        cache.invalidate(URI.create("http://localhost:9090/items/2"));
+
+        Assertions.assertNull(cache.get(bookingUri, 1L));
+        Assertions.assertNull(cache.get(requestUri, 1L));
+    }
+
+    @Test
+    void responseRequestedBeforeInvalidationIsNotCached() {
+        long generation = cache.getGeneration();
+
+        cache.invalidate(ITEM_URI);
+        cache.put(ITEM_URI, 1L, ResponseEntity.ok("stale item"), generation);
+
+        Assertions.assertNull(cache.get(ITEM_URI, 1L));
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exceptions.ApiErrorException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class IdempotencyStoreTest {
+
+    private static final String APPROVE = "PATCH http://localhost:9090/bookings/1?approved=true";
+
+    private IdempotencyStore store;
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private ResponseEntity<Object> upstreamResponse;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(60, 100);
+        upstreamCalls.set(0);
+        upstreamResponse = ResponseEntity.ok("approved");
+    }
+
+    @Test
+    void retryWithSameKeyReturnsStoredResponse() {
+        var first = store.execute("key-1", 1L, APPROVE, this::callUpstream).join();
+        var retry = store.execute("key-1", 1L, APPROVE, this::callUpstream).join();
+
+        Assertions.assertEquals(1, upstreamCalls.get());
+        Assertions.assertSame(first, retry);
+    }
+
+    @Test
+    void sameKeyOfAnotherUserIsIndependent() {
+        store.execute("key-1", 1L, APPROVE, this::callUpstream).join();
+        store.execute("key-1", 2L, APPROVE, this::callUpstream).join();
+
+        Assertions.assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void sameKeyForAnotherRequestIsRejected() {
+        store.execute("key-1", 1L, APPROVE, this::callUpstream).join();
+
+        ApiErrorException ex = Assertions.assertThrows(ApiErrorException.class, () ->
+                store.execute("key-1", 1L, "PATCH http://localhost:9090/bookings/1?approved=false",
+                        this::callUpstream));
+
+        Assertions.assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, ex.getStatusCode());
+        Assertions.assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void serverErrorIsNotStored() {
+        upstreamResponse = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        store.execute("key-1", 1L, APPROVE, this::callUpstream).join();
+
+        upstreamResponse = ResponseEntity.ok("approved");
+        var retry = store.execute("key-1", 1L, APPROVE, this::callUpstream).join();
+
+        Assertions.assertEquals(2, upstreamCalls.get());
+        Assertions.assertEquals(HttpStatus.OK, retry.getStatusCode());
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> callUpstream() {
+        upstreamCalls.incrementAndGet();
+        return CompletableFuture.completedFuture(upstreamResponse);
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RequestCoalescerTest {
+
+    private static final URI SEARCH_URI = URI.create("http://localhost:9090/items/search?text=дрель");
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RequestCoalescer coalescer;
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private CompletableFuture<ResponseEntity<Object>> upstreamResponse;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(true, meterRegistry);
+        upstreamCalls.set(0);
+        upstreamResponse = new CompletableFuture<>();
+    }
+
+    @Test
+    void concurrentIdenticalRequestsShareOneUpstreamCall() {
+        var first = coalescer.execute(SEARCH_URI, 1L, this::callUpstream);
+        var second = coalescer.execute(SEARCH_URI, 1L, this::callUpstream);
+
+        upstreamResponse.complete(ResponseEntity.ok("[]"));
+
+        Assertions.assertEquals(1, upstreamCalls.get());
+        Assertions.assertEquals("[]", first.join().getBody());
+        Assertions.assertEquals("[]", second.join().getBody());
+        Assertions.assertEquals(1.0, countRequests("forwarded"));
+        Assertions.assertEquals(1.0, countRequests("coalesced"));
+    }
+
+    @Test
+    void requestsOfDifferentUsersAreNotCoalesced() {
+        coalescer.execute(SEARCH_URI, 1L, this::callUpstream);
+        coalescer.execute(SEARCH_URI, 2L, this::callUpstream);
+
+        Assertions.assertEquals(2, upstreamCalls.get());
+        Assertions.assertEquals(0.0, countRequests("coalesced"));
+    }
+
+    @Test
+    void completedRequestIsNotReused() {
+        coalescer.execute(SEARCH_URI, 1L, this::callUpstream);
+        upstreamResponse.complete(ResponseEntity.ok("[]"));
+
+        upstreamResponse = new CompletableFuture<>();
+        coalescer.execute(SEARCH_URI, 1L, this::callUpstream);
+
+        Assertions.assertEquals(2, upstreamCalls.get());
+        Assertions.assertEquals(2.0, countRequests("forwarded"));
+    }
+
+    @Test
+    void upstreamErrorIsPassedToAllWaitingRequests() {
+        var first = coalescer.execute(SEARCH_URI, 1L, this::callUpstream);
+        var second = coalescer.execute(SEARCH_URI, 1L, this::callUpstream);
+
+        upstreamResponse.completeExceptionally(new IllegalStateException("server is down"));
+
+        Assertions.assertTrue(first.isCompletedExceptionally());
+        Assertions.assertTrue(second.isCompletedExceptionally());
+
+        coalescer.execute(SEARCH_URI, 1L, this::callUpstream);
+        Assertions.assertEquals(2, upstreamCalls.get());
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> callUpstream() {
+        upstreamCalls.incrementAndGet();
+        return upstreamResponse;
+    }
+
+    private double countRequests(String result) {
+        return meterRegistry.get("gateway.upstream.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Заглушка shareit-server на локальном порту для тестов BaseClient: на любой запрос отвечает заданным
+ * ответом (по умолчанию - JSON-предмет). Ответы можно задержать до вызова countDown у holdResponses.
+ */
+public class StubShareItServer implements AutoCloseable {
+
+    public static final byte[] ITEM_JSON = ("{\"id\":1,\"name\":\"Дрель\",\"description\":\"Аккумуляторная дрель\"," +
+            "\"available\":true,\"requestId\":null}").getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Semaphore received = new Semaphore(0);
+
+    private volatile int status;
+    private volatile Map<String, List<String>> headers;
+    private volatile byte[] body;
+    private volatile CountDownLatch release;
+
+    public StubShareItServer() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        reset();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public void respond(int status, Map<String, List<String>> headers, byte[] body) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /**
+     * Задержка ответов: запросы принимаются, но ответ отправляется только после countDown у возвращенного latch.
+     */
+    public CountDownLatch holdResponses() {
+        release = new CountDownLatch(1);
+        return release;
+    }
+
+    public boolean awaitRequest(long timeout, TimeUnit unit) throws InterruptedException {
+        return received.tryAcquire(timeout, unit);
+    }
+
+    public void reset() {
+        if (release != null) {
+            release.countDown();
+        }
+        respond(200, Map.of("Content-Type", List.of("application/json")), ITEM_JSON);
+        release = new CountDownLatch(0);
+        received.drainPermits();
+    }
+
+    @Override
+    public void close() {
+        reset();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            requestBody.readAllBytes();
+        }
+        received.release();
+
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        byte[] responseBody = body;
+        exchange.getResponseHeaders().putAll(headers);
+        exchange.sendResponseHeaders(status, responseBody.length > 0 ? responseBody.length : -1);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(responseBody);
+        }
+    }
+}
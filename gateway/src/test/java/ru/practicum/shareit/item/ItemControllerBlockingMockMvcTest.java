@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.shareit.client.StubShareItServer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "shareit-server.reactive.enabled=false",
+        "shareit-server.pass-through=true",
+        "shareit-server.cache.enabled=false",
+        "shareit-server.coalescing.enabled=false",
+        "shareit.tracing.exporter=none"
+})
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemControllerBlockingMockMvcTest {
+
+    private static final StubShareItServer SERVER = new StubShareItServer();
+
+    private final MockMvc mvc;
+
+    private final ApplicationContext context;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", SERVER::getUrl);
+    }
+
+    @AfterEach
+    void resetServer() {
+        SERVER.reset();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.close();
+    }
+
+    @Test
+    void reactiveTransportIsNotCreated() {
+        Assertions.assertTrue(context.getBeansOfType(ReactorClientHttpConnector.class).isEmpty());
+        Assertions.assertTrue(context.getBeansOfType(ConnectionProvider.class).isEmpty());
+    }
+
+    @Test
+    void getItem() throws Exception {
+        MvcResult result = mvc.perform(get("/items/1").header("X-Sharer-User-Id", 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(content().bytes(StubShareItServer.ITEM_JSON));
+    }
+
+    @Test
+    void getItemServerError() throws Exception {
+        byte[] error = "{\"error\":\"not found\"}".getBytes(StandardCharsets.UTF_8);
+        SERVER.respond(404, Map.of("Content-Type", List.of("application/json")), error);
+
+        MvcResult result = mvc.perform(get("/items/1").header("X-Sharer-User-Id", 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(content().bytes(error));
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.client.StubShareItServer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Неблокирующий режим с пулом из одного соединения и очередью ожидания из одного запроса:
+ * третий одновременный запрос к серверу получает 503.
+ */
+@SpringBootTest(properties = {
+        "shareit-server.reactive.enabled=true",
+        "shareit-server.reactive.max-in-flight=1",
+        "shareit-server.reactive.max-pending=1",
+        "shareit-server.reactive.pending-timeout-ms=10000",
+        "shareit-server.pass-through=true",
+        "shareit-server.cache.enabled=false",
+        "shareit-server.coalescing.enabled=false",
+        "shareit.tracing.exporter=none"
+})
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemControllerReactiveMockMvcTest {
+
+    private static final StubShareItServer SERVER = new StubShareItServer();
+
+    private final MockMvc mvc;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", SERVER::getUrl);
+    }
+
+    @AfterEach
+    void resetServer() {
+        SERVER.reset();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.close();
+    }
+
+    @Test
+    void getItem() throws Exception {
+        MvcResult result = getItemAsync();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(content().bytes(StubShareItServer.ITEM_JSON));
+    }
+
+    @Test
+    void getItemServerError() throws Exception {
+        byte[] error = "{\"error\":\"not found\"}".getBytes(StandardCharsets.UTF_8);
+        SERVER.respond(404, Map.of("Content-Type", List.of("application/json")), error);
+
+        MvcResult result = getItemAsync();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(content().bytes(error));
+    }
+
+    @Test
+    void getItemWhenPendingLimitExceeded() throws Exception {
+        CountDownLatch release = SERVER.holdResponses();
+
+        MvcResult inFlight = getItemAsync();
+        Assertions.assertTrue(SERVER.awaitRequest(10, TimeUnit.SECONDS));
+
+        List<MvcResult> waiting = List.of(getItemAsync(), getItemAsync());
+
+        release.countDown();
+
+        mvc.perform(asyncDispatch(inFlight))
+                .andExpect(status().isOk());
+
+        List<Integer> statuses = new ArrayList<>();
+        for (MvcResult result : waiting) {
+            statuses.add(mvc.perform(asyncDispatch(result)).andReturn().getResponse().getStatus());
+        }
+        statuses.sort(Integer::compareTo);
+
+        Assertions.assertEquals(List.of(200, 503), statuses);
+    }
+
+    private MvcResult getItemAsync() throws Exception {
+        return mvc.perform(get("/items/1").header("X-Sharer-User-Id", 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
@@ -34,7 +34,26 @@ public class Booking {
     @JoinColumn(name = "booker_id")
     private User booker;
 
+    /**
+     * Владелец предмета (копия item.user.id): выборки бронирований владельца не требуют join'а с item.
+     * Заполняется при сохранении бронирования, при смене владельца предмета обновляется
+     * через BookingRepository.updateOwnerByItemId.
+     */
+    @Column(name = "owner_id")
+    private Long ownerId;
+
     @Enumerated
     @Column(name = "status", nullable = false)
     private BookingStatus status;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @PrePersist
+    void fillOwnerId() {
+        if (ownerId == null && item != null && item.getUser() != null) {
+            ownerId = item.getUser().getId();
+        }
+    }
 }
@@ -0,0 +1,253 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Индекс интервалов подтвержденных бронирований по предметам для быстрой проверки пересечений.
+ * <p>
+ * Подтвержденные интервалы одного предмета не пересекаются (это гарантирует ограничение Booking_Approved_No_Overlap
+ * в базе данных), поэтому для поиска пересечения достаточно упорядоченного по началу дерева интервалов:
+ * пересечься с [start, end) может только интервал с наибольшим началом, меньшим end.
+ * <p>
+ * Интервал подтверждаемого бронирования резервируется до завершения транзакции и освобождается при ее откате,
+ * поэтому параллельные подтверждения одного предмета внутри сервера не могут пройти одновременно.
+ * Индекс предмета загружается из базы данных при первом обращении; найденное пересечение с уже сохраненным
+ * бронированием перепроверяется в базе данных (бронирование могло быть отклонено другим экземпляром сервера).
+ */
+@Slf4j
+@Component
+public class BookingConflictIndex {
+
+    private final BookingRepository bookingRepository;
+
+    private final Cache<Long, ItemIntervals> items;
+
+    public BookingConflictIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking.conflict-index.max-items:10000}") long maxItems,
+                                @Value("${shareit.booking.conflict-index.expire-after-access-minutes:30}")
+                                long expireAfterAccess) {
+        this.bookingRepository = bookingRepository;
+        this.items = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccess))
+                .build();
+    }
+
+    /**
+     * Поиск подтвержденного бронирования предмета, пересекающегося с интервалом [start, end).
+     */
+    public Optional<Long> findConflict(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return findLiveConflict(getItemIntervals(itemId), null, start, end, null);
+    }
+
+    /**
+     * Резервирование интервала подтверждаемого бронирования. Если интервал пересекается с другим подтвержденным
+     * (или подтверждаемым в этот момент) бронированием, возвращается его ID и резервирование не выполняется.
+     */
+    public Optional<Long> reserve(Long itemId, Long bookingId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals intervals = getItemIntervals(itemId);
+        Interval reserved = new Interval(bookingId, start, end, true);
+
+        Optional<Long> conflict = findLiveConflict(intervals, bookingId, start, end, reserved);
+        if (conflict.isPresent()) {
+            return conflict;
+        }
+
+        afterCompletion(committed -> {
+            synchronized (intervals) {
+                if (committed) {
+                    reserved.pending = false;
+                } else {
+                    intervals.remove(reserved);
+                }
+            }
+        });
+        return Optional.empty();
+    }
+
+    /**
+     * Удаление интервала бронирования, с которого снято подтверждение, после фиксации транзакции.
+     */
+    public void release(Long itemId, Long bookingId) {
+        afterCompletion(committed -> {
+            if (!committed) {
+                return;
+            }
+
+            ItemIntervals intervals = items.getIfPresent(itemId);
+            if (intervals != null) {
+                synchronized (intervals) {
+                    intervals.remove(bookingId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Удаление из индекса интервалов предметов, бронирования которых были добавлены в обход индекса
+     * (загрузка истории бронирований), после фиксации транзакции. Индекс предмета будет загружен заново.
+     */
+    public void evict(Collection<Long> itemIds) {
+        afterCompletion(committed -> {
+            if (committed) {
+                items.invalidateAll(itemIds);
+            }
+        });
+    }
+
+    private ItemIntervals getItemIntervals(Long itemId) {
+        return items.get(itemId, this::loadItemIntervals);
+    }
+
+    private ItemIntervals loadItemIntervals(Long itemId) {
+        ItemIntervals intervals = new ItemIntervals();
+
+        for (var booking : bookingRepository.getBookingIntervals(itemId, BookingStatus.APPROVED)) {
+            LocalDateTime end = booking.getEndTime() != null ? booking.getEndTime() : LocalDateTime.MAX;
+            intervals.put(new Interval(booking.getId(), booking.getStartTime(), end, false));
+        }
+
+        log.debug("Загружено {} подтвержденных интервалов бронирования предмета с ID={}",
+                intervals.byBookingId.size(), itemId);
+        return intervals;
+    }
+
+    /**
+     * Поиск пересечения с интервалом [start, end); если пересечения нет и передан reserved, он добавляется в индекс.
+     * Сохраненные бронирования перепроверяются в базе данных вне блокировки индекса предмета, чтобы запрос
+     * не задерживал остальные проверки этого предмета. После проверки отклоненные интервалы удаляются, а поиск
+     * повторяется, если за время запроса индекс изменился.
+     */
+    private Optional<Long> findLiveConflict(ItemIntervals intervals, Long bookingId,
+                                            LocalDateTime start, LocalDateTime end, Interval reserved) {
+        while (true) {
+            List<Interval> candidates;
+
+            synchronized (intervals) {
+                candidates = intervals.findOverlapping(bookingId, start, end);
+
+                for (Interval candidate : candidates) {
+                    if (candidate.isPending()) {
+                        return Optional.of(candidate.getBookingId());
+                    }
+                }
+
+                if (candidates.isEmpty()) {
+                    if (reserved != null) {
+                        intervals.put(reserved);
+                    }
+                    return Optional.empty();
+                }
+            }
+
+            Interval live = null;
+            List<Interval> stale = new ArrayList<>();
+            for (Interval candidate : candidates) {
+                if (bookingRepository.existsByIdAndStatus(candidate.getBookingId(), BookingStatus.APPROVED)) {
+                    live = candidate;
+                    break;
+                }
+                stale.add(candidate);
+            }
+
+            synchronized (intervals) {
+                for (Interval candidate : stale) {
+                    log.debug("Бронирование с ID={} больше не подтверждено, интервал удален из индекса",
+                            candidate.getBookingId());
+                    intervals.remove(candidate);
+                }
+
+                if (live != null && intervals.contains(live)) {
+                    return Optional.of(live.getBookingId());
+                }
+            }
+        }
+    }
+
+    private static void afterCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private static class ItemIntervals {
+        private final NavigableMap<LocalDateTime, Interval> byStart = new TreeMap<>();
+        private final Map<Long, Interval> byBookingId = new HashMap<>();
+
+        void put(Interval interval) {
+            remove(interval.getBookingId());
+            byStart.put(interval.getStart(), interval);
+            byBookingId.put(interval.getBookingId(), interval);
+        }
+
+        void remove(Interval interval) {
+            byStart.remove(interval.getStart(), interval);
+            byBookingId.remove(interval.getBookingId(), interval);
+        }
+
+        boolean contains(Interval interval) {
+            return byBookingId.get(interval.getBookingId()) == interval;
+        }
+
+        /**
+         * Интервалы, пересекающиеся с [start, end), кроме интервала бронирования bookingId.
+         */
+        List<Interval> findOverlapping(Long bookingId, LocalDateTime start, LocalDateTime end) {
+            List<Interval> result = new ArrayList<>();
+            var entry = byStart.lowerEntry(end);
+
+            while (entry != null && entry.getValue().getEnd().isAfter(start)) {
+                Interval candidate = entry.getValue();
+                if (!candidate.getBookingId().equals(bookingId)) {
+                    result.add(candidate);
+                }
+                entry = byStart.lowerEntry(candidate.getStart());
+            }
+            return result;
+        }
+
+        void remove(Long bookingId) {
+            Interval interval = byBookingId.get(bookingId);
+            if (interval != null) {
+                remove(interval);
+            }
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Interval {
+        private final Long bookingId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private volatile boolean pending;
+    }
+}
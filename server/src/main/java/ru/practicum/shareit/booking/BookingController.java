@@ -2,8 +2,11 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 @Slf4j
@@ -14,6 +17,8 @@ public class BookingController {
 
     private final BookingService bookingService;
 
+    private final BookingLoadService bookingLoadService;
+
     @PostMapping
     public BookingDto createBooking(@RequestBody InputBookingDto bookingDto,
                                     @RequestHeader(value = "X-Sharer-User-Id", required = false) Long bookerId) {
@@ -21,6 +26,20 @@ public class BookingController {
         return bookingService.createBooking(bookingDto, bookerId);
     }
 
+    @PostMapping(value = "/load", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public BookingLoadProgressDto loadBookings(InputStream input,
+                                               @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                               @RequestParam("loadId") String loadId) {
+        log.info("Запрос на загрузку истории бронирований '{}'", loadId);
+        return bookingLoadService.loadBookings(input, contentType, loadId);
+    }
+
+    @GetMapping("/load/{loadId}")
+    public BookingLoadProgressDto getLoadProgress(@PathVariable("loadId") String loadId) {
+        log.info("Запрос на получение состояния загрузки бронирований '{}'", loadId);
+        return bookingLoadService.getLoadProgress(loadId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approvalBooking(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long ownerId,
                                       @PathVariable("bookingId") Long bookingId,
@@ -40,8 +59,12 @@ public class BookingController {
     public List<BookingDto> getAllBookingByUser(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId,
                                                 @RequestParam(value = "state", defaultValue = "ALL") String state,
                                                 @RequestParam(value = "from", required = false, defaultValue = 0 + "") Integer from,
-                                                @RequestParam(value = "size", required = false, defaultValue = Integer.MAX_VALUE + "") Integer size) {
+                                                @RequestParam(value = "size", required = false, defaultValue = Integer.MAX_VALUE + "") Integer size,
+                                                @RequestParam(value = "after", required = false) String after) {
         log.info("Запрос на получение данных всех бронирований пользователем с ID={}", userId);
+        if (after != null) {
+            return bookingService.getAllBookingByUserAfter(userId, after, size, state);
+        }
         return bookingService.getAllBookingByUser(userId, from, size, state);
     }
 
@@ -49,8 +72,12 @@ public class BookingController {
     public List<BookingDto> getAllBookingByOwner(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long ownerId,
                                                  @RequestParam(value = "state", defaultValue = "ALL") String state,
                                                  @RequestParam(value = "from", required = false, defaultValue = 0 + "") Integer from,
-                                                 @RequestParam(value = "size", required = false, defaultValue = Integer.MAX_VALUE + "") Integer size) {
+                                                 @RequestParam(value = "size", required = false, defaultValue = Integer.MAX_VALUE + "") Integer size,
+                                                 @RequestParam(value = "after", required = false) String after) {
         log.info("Запрос на получение данных всех бронирований предмета с владельцем с ID={}", ownerId);
+        if (after != null) {
+            return bookingService.getAllBookingByOwnerAfter(ownerId, after, size, state);
+        }
         return bookingService.getAllBookingByOwner(ownerId, from, size, state);
     }
 }
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Запись пакета бронирований напрямую в таблицу booking, минуя Hibernate.
+ * <p>
+ * В PostgreSQL пакет передается одной командой COPY FROM STDIN (CopyManager) - на порядок быстрее
+ * пакетного insert'а. Для остальных баз данных (H2 в тестах) используется пакетный insert JDBC.
+ * Запись выполняется на соединении текущей транзакции, поэтому откатывается вместе с ней.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingCopyWriter {
+    private static final String COPY_SQL = "COPY public.booking " +
+            "(start_time, end_time, item_id, booker_id, status, version, owner_id) " +
+            "FROM STDIN WITH (FORMAT csv)";
+
+    private static final String INSERT_SQL = "INSERT INTO public.booking " +
+            "(start_time, end_time, item_id, booker_id, status, version, owner_id) " +
+            "VALUES (?, ?, ?, ?, ?, 0, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void write(List<BookingLoadRecordDto> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                copy(connection.unwrap(PGConnection.class).getCopyAPI(), bookings);
+            } else {
+                insert(connection, bookings);
+            }
+            return null;
+        });
+    }
+
+    private static void copy(CopyManager copyManager, List<BookingLoadRecordDto> bookings) throws SQLException {
+        StringBuilder rows = new StringBuilder(bookings.size() * 64);
+        for (BookingLoadRecordDto booking : bookings) {
+            rows.append(booking.getStart()).append(',')
+                    .append(booking.getEnd()).append(',')
+                    .append(booking.getItemId()).append(',')
+                    .append(booking.getBookerId()).append(',')
+                    .append(booking.getStatus().ordinal()).append(",0,")
+                    .append(booking.getOwnerId()).append('\n');
+        }
+
+        try {
+            copyManager.copyIn(COPY_SQL, new StringReader(rows.toString()));
+        } catch (IOException e) {
+            throw new SQLException("Ошибка передачи данных COPY: " + e.getMessage(), e);
+        }
+    }
+
+    private static void insert(Connection connection, List<BookingLoadRecordDto> bookings) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            for (BookingLoadRecordDto booking : bookings) {
+                statement.setTimestamp(1, Timestamp.valueOf(booking.getStart()));
+                statement.setTimestamp(2, Timestamp.valueOf(booking.getEnd()));
+                statement.setLong(3, booking.getItemId());
+                statement.setLong(4, booking.getBookerId());
+                statement.setInt(5, booking.getStatus().ordinal());
+                statement.setLong(6, booking.getOwnerId());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * Позиция для постраничного вывода бронирований методом поиска по ключу.
+ * Передается в параметре 'after' в виде "start,id" последнего полученного бронирования,
+ * например "2023-07-14T14:04:51,1000".
+ */
+@Getter
+@AllArgsConstructor
+public class BookingCursor {
+    private final LocalDateTime start;
+
+    private final Long id;
+
+    public static Optional<BookingCursor> from(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+
+        int separator = token.lastIndexOf(',');
+        if (separator <= 0) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(new BookingCursor(LocalDateTime.parse(token.substring(0, separator).trim()),
+                    Long.parseLong(token.substring(separator + 1).trim())));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return start + "," + id;
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Контрольная точка загрузки истории бронирований: сколько строк потока уже обработано.
+ * Обновляется в одной транзакции с записью пакета, поэтому повторная загрузка того же потока
+ * с тем же loadId пропускает уже сохраненные строки.
+ */
+@Entity
+@Table(name = "booking_load_checkpoint", schema = "public")
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingLoadCheckpoint {
+    @Id
+    @Column(name = "load_id")
+    private String loadId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private BookingLoadStatus status;
+
+    @Column(name = "lines_processed", nullable = false)
+    private long linesProcessed;
+
+    @Column(name = "imported", nullable = false)
+    private long imported;
+
+    @Column(name = "rejected", nullable = false)
+    private long rejected;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+}
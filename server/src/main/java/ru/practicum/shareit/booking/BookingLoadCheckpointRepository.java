@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+public interface BookingLoadCheckpointRepository extends JpaRepository<BookingLoadCheckpoint, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c " +
+            "from BookingLoadCheckpoint c " +
+            "where c.loadId = :loadId")
+    Optional<BookingLoadCheckpoint> getCheckpointForUpdate(@Param("loadId") String loadId);
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Состояние загрузки истории бронирований. Счетчики - с начала загрузки (с учетом прерванных попыток),
+ * errors - первые ошибки строк текущей попытки.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingLoadProgressDto {
+    private String loadId;
+
+    private BookingLoadStatus status;
+
+    private Long linesProcessed;
+
+    private Long imported;
+
+    private Long rejected;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime updatedAt;
+
+    private String lastError;
+
+    private List<String> errors;
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка загрузки истории бронирований (NDJSON или CSV с заголовком itemId,bookerId,start,end,status).
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingLoadRecordDto {
+    private Long itemId;
+
+    private Long bookerId;
+
+    private LocalDateTime start;
+
+    private LocalDateTime end;
+
+    private BookingStatus status;
+
+    /**
+     * Владелец предмета: не читается из входных данных, заполняется при проверке строки.
+     */
+    @JsonIgnore
+    private Long ownerId;
+}
@@ -0,0 +1,401 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.bulkimport.BulkImportResultDto;
+import ru.practicum.shareit.bulkimport.CsvReader;
+import ru.practicum.shareit.bulkimport.ImportLine;
+import ru.practicum.shareit.bulkimport.ImportReader;
+import ru.practicum.shareit.bulkimport.NdjsonReader;
+import ru.practicum.shareit.exceptions.ApiErrorException;
+import ru.practicum.shareit.item.ItemBookingSummaryService;
+import ru.practicum.shareit.item.ItemOwnerProjection;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Загрузка истории бронирований из другой системы (CSV или NDJSON, десятки миллионов строк).
+ * <p>
+ * Поток читается пакетами по batch-size строк. Ссылки строк пакета на предметы и пользователей проверяются
+ * двумя запросами на пакет, найденные ID кэшируются на время загрузки. Прошедшие проверку строки записываются
+ * в таблицу booking через BookingCopyWriter (COPY в PostgreSQL), в той же транзакции пересчитываются сводки
+ * бронирований затронутых предметов и сохраняется контрольная точка - номер последней обработанной строки.
+ * Если загрузка прервалась, повторная отправка того же потока с тем же loadId продолжает ее с контрольной точки.
+ * <p>
+ * Пересечение подтвержденных бронирований проверяет ограничение Booking_Approved_No_Overlap: пакет с пересечением
+ * не сохраняется, загрузка прерывается со статусом FAILED.
+ */
+@Slf4j
+@Service
+public class BookingLoadService {
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    private static final int MAX_LOAD_ID_LENGTH = 64;
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final BookingCopyWriter bookingCopyWriter;
+    private final BookingLoadCheckpointRepository checkpointRepository;
+    private final BookingConflictIndex bookingConflictIndex;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<String> activeLoads = ConcurrentHashMap.newKeySet();
+
+    @Value("${shareit.booking.load.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${shareit.booking.load.reference-cache-size:1000000}")
+    private long referenceCacheSize;
+
+    @Value("${shareit.booking.load.progress-log-interval-ms:10000}")
+    private long progressLogInterval;
+
+    @Value("${shareit.bulk-import.max-errors:100}")
+    private int maxErrors;
+
+    public BookingLoadService(BookingCopyWriter bookingCopyWriter,
+                              BookingLoadCheckpointRepository checkpointRepository,
+                              BookingConflictIndex bookingConflictIndex,
+                              ItemRepository itemRepository,
+                              UserRepository userRepository,
+                              ItemBookingSummaryService itemBookingSummaryService,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
+        this.bookingCopyWriter = bookingCopyWriter;
+        this.checkpointRepository = checkpointRepository;
+        this.bookingConflictIndex = bookingConflictIndex;
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.itemBookingSummaryService = itemBookingSummaryService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BookingLoadProgressDto loadBookings(InputStream input, String contentType, String loadId) {
+        if (loadId == null || loadId.isBlank() || loadId.length() > MAX_LOAD_ID_LENGTH) {
+            String msg = "Значение 'loadId' должно быть непустой строкой длиной не больше " + MAX_LOAD_ID_LENGTH;
+            log.error(msg);
+            throw new ApiErrorException(HttpStatus.BAD_REQUEST, msg);
+        }
+
+        if (!activeLoads.add(loadId)) {
+            String msg = "Загрузка бронирований '" + loadId + "' уже выполняется";
+            log.error(msg);
+            throw new ApiErrorException(HttpStatus.CONFLICT, msg);
+        }
+
+        try {
+            return load(input, contentType, loadId);
+        } finally {
+            activeLoads.remove(loadId);
+        }
+    }
+
+    public BookingLoadProgressDto getLoadProgress(String loadId) {
+        return checkpointRepository.findById(loadId)
+                .map(checkpoint -> toProgressDto(checkpoint, List.of()))
+                .orElseThrow(() -> new ApiErrorException(HttpStatus.NOT_FOUND,
+                        "Загрузка бронирований '" + loadId + "' не найдена"));
+    }
+
+    private BookingLoadProgressDto load(InputStream input, String contentType, String loadId) {
+        ImportReader<BookingLoadRecordDto> reader = createReader(input, contentType);
+
+        BookingLoadCheckpoint checkpoint = transactionTemplate.execute(status -> startCheckpoint(loadId));
+        if (checkpoint.getStatus() == BookingLoadStatus.COMPLETED) {
+            log.info("Загрузка бронирований '{}' уже завершена, поток не читается", loadId);
+            return toProgressDto(checkpoint, List.of());
+        }
+
+        if (!reader.skipTo(checkpoint.getLinesProcessed())) {
+            String msg = "Поток короче уже загруженной части: обработано строк " + checkpoint.getLinesProcessed();
+            log.error(msg);
+            throw new ApiErrorException(HttpStatus.BAD_REQUEST, msg);
+        }
+
+        if (checkpoint.getLinesProcessed() > 0) {
+            log.info("Загрузка бронирований '{}' продолжена со строки {}", loadId, checkpoint.getLinesProcessed() + 1);
+        }
+
+        BulkImportResultDto result = new BulkImportResultDto(maxErrors);
+        LoadContext context = new LoadContext(loadId, checkpoint.getRejected(), referenceCacheSize);
+        long resumedFrom = checkpoint.getLinesProcessed();
+        long startTime = System.currentTimeMillis();
+        long lastLogTime = startTime;
+
+        while (true) {
+            List<ImportLine<BookingLoadRecordDto>> lines = reader.nextBatch(batchSize, result);
+            long processedBefore = checkpoint.getLinesProcessed();
+            long processed = reader.getLineNumber();
+
+            if (lines.isEmpty() && processed == processedBefore) {
+                break;
+            }
+
+            try {
+                checkpoint = transactionTemplate.execute(status ->
+                        loadBatch(context, lines, processedBefore, processed, result));
+            } catch (RuntimeException e) {
+                String msg = "Загрузка бронирований '" + loadId + "' прервана на строках " + (processedBefore + 1)
+                        + "-" + processed + ", обработано строк: " + processedBefore
+                        + ". Загрузку можно продолжить с тем же loadId. Причина: " + e.getMessage();
+                log.error(msg, e);
+                transactionTemplate.executeWithoutResult(status -> failCheckpoint(loadId, e));
+                throw new ApiErrorException(HttpStatus.INTERNAL_SERVER_ERROR, msg);
+            }
+
+            long now = System.currentTimeMillis();
+            if (now - lastLogTime >= progressLogInterval) {
+                log.info("Загрузка бронирований '{}': обработано строк {}, загружено {}, отклонено {} ({} строк/с)",
+                        loadId, checkpoint.getLinesProcessed(), checkpoint.getImported(), checkpoint.getRejected(),
+                        (processed - resumedFrom) * 1000 / Math.max(now - startTime, 1));
+                lastLogTime = now;
+            }
+
+            if (lines.isEmpty()) {
+                break;
+            }
+        }
+
+        checkpoint = transactionTemplate.execute(status -> completeCheckpoint(loadId));
+        log.info("Загрузка бронирований '{}' завершена: обработано строк {}, загружено {}, отклонено {}",
+                loadId, checkpoint.getLinesProcessed(), checkpoint.getImported(), checkpoint.getRejected());
+        return toProgressDto(checkpoint, result.getErrors());
+    }
+
+    private ImportReader<BookingLoadRecordDto> createReader(InputStream input, String contentType) {
+        MediaType mediaType;
+        try {
+            mediaType = MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            mediaType = MediaType.ALL;
+        }
+
+        if (TEXT_CSV.includes(mediaType)) {
+            return new CsvReader<>(input, objectMapper, BookingLoadRecordDto.class);
+        }
+        if (MediaType.APPLICATION_NDJSON.includes(mediaType)) {
+            return new NdjsonReader<>(input, objectMapper, BookingLoadRecordDto.class);
+        }
+
+        String msg = "Неподдерживаемый формат загрузки бронирований: " + contentType;
+        log.error(msg);
+        throw new ApiErrorException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, msg);
+    }
+
+    private BookingLoadCheckpoint startCheckpoint(String loadId) {
+        LocalDateTime now = LocalDateTime.now();
+        BookingLoadCheckpoint checkpoint = checkpointRepository.getCheckpointForUpdate(loadId)
+                .orElseGet(() -> BookingLoadCheckpoint.builder()
+                        .loadId(loadId)
+                        .status(BookingLoadStatus.RUNNING)
+                        .startedAt(now)
+                        .build());
+
+        if (checkpoint.getStatus() != BookingLoadStatus.COMPLETED) {
+            checkpoint.setStatus(BookingLoadStatus.RUNNING);
+            checkpoint.setLastError(null);
+            checkpoint.setUpdatedAt(now);
+            checkpoint = checkpointRepository.save(checkpoint);
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Проверка и запись пакета строк, пересчет сводок его предметов и перенос контрольной точки на строку processed.
+     */
+    private BookingLoadCheckpoint loadBatch(LoadContext context, List<ImportLine<BookingLoadRecordDto>> lines,
+                                            long processedBefore, long processed, BulkImportResultDto result) {
+        BookingLoadCheckpoint checkpoint = checkpointRepository.getCheckpointForUpdate(context.getLoadId())
+                .orElseThrow(() -> new ApiErrorException(HttpStatus.CONFLICT,
+                        "Контрольная точка загрузки '" + context.getLoadId() + "' удалена"));
+
+        if (checkpoint.getLinesProcessed() != processedBefore) {
+            throw new ApiErrorException(HttpStatus.CONFLICT, "Контрольная точка загрузки '" + context.getLoadId()
+                    + "' изменена другим процессом: обработано строк " + checkpoint.getLinesProcessed());
+        }
+
+        List<BookingLoadRecordDto> bookings = validate(context, lines, result);
+        bookingCopyWriter.write(bookings);
+
+        Set<Long> approvedItemIds = bookings.stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .map(BookingLoadRecordDto::getItemId)
+                .collect(Collectors.toCollection(TreeSet::new));
+        itemBookingSummaryService.refreshSummaries(approvedItemIds);
+        bookingConflictIndex.evict(approvedItemIds);
+
+        checkpoint.setLinesProcessed(processed);
+        checkpoint.setImported(checkpoint.getImported() + bookings.size());
+        checkpoint.setRejected(context.getRejectedBefore() + result.getRejected());
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        result.addImported(bookings.size());
+        return checkpointRepository.save(checkpoint);
+    }
+
+    private List<BookingLoadRecordDto> validate(LoadContext context, List<ImportLine<BookingLoadRecordDto>> lines,
+                                                BulkImportResultDto result) {
+        Map<Long, Long> itemOwners = context.getItemOwners(lines.stream()
+                .map(line -> line.getValue().getItemId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()), this::loadItemOwners);
+
+        Map<Long, Boolean> users = context.getUsers(lines.stream()
+                .map(line -> line.getValue().getBookerId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()), this::loadUsers);
+
+        List<BookingLoadRecordDto> bookings = new ArrayList<>(lines.size());
+        for (ImportLine<BookingLoadRecordDto> line : lines) {
+            String error = validate(line.getValue(), itemOwners, users);
+            if (error != null) {
+                result.reject(line.getLineNumber(), error);
+            } else {
+                bookings.add(line.getValue());
+            }
+        }
+        return bookings;
+    }
+
+    private static String validate(BookingLoadRecordDto booking, Map<Long, Long> itemOwners, Map<Long, Boolean> users) {
+        if (booking.getItemId() == null) {
+            return "не указан ID предмета";
+        }
+        if (booking.getBookerId() == null) {
+            return "не указан ID пользователя, создавшего бронирование";
+        }
+        if (booking.getStart() == null || booking.getEnd() == null) {
+            return "не указано время начала или окончания бронирования";
+        }
+        if (!booking.getEnd().isAfter(booking.getStart())) {
+            return "время окончания бронирования должно быть позже времени начала";
+        }
+        if (booking.getStatus() == null) {
+            return "не указан статус бронирования";
+        }
+
+        Long ownerId = itemOwners.get(booking.getItemId());
+        if (ownerId == null) {
+            return "предмет с ID = " + booking.getItemId() + " не найден в базе данных";
+        }
+        if (!users.containsKey(booking.getBookerId())) {
+            return "пользователь с ID = " + booking.getBookerId() + " не найден в базе данных";
+        }
+        if (ownerId.equals(booking.getBookerId())) {
+            return "пользователь с ID = " + booking.getBookerId() + " является владельцем предмета с ID = "
+                    + booking.getItemId();
+        }
+
+        booking.setOwnerId(ownerId);
+        return null;
+    }
+
+    private Map<Long, Long> loadItemOwners(Iterable<? extends Long> itemIds) {
+        List<Long> ids = new ArrayList<>();
+        itemIds.forEach(ids::add);
+
+        return itemRepository.getItemOwners(ids)
+                .stream()
+                .collect(Collectors.toMap(ItemOwnerProjection::getItemId, ItemOwnerProjection::getOwnerId));
+    }
+
+    private Map<Long, Boolean> loadUsers(Iterable<? extends Long> userIds) {
+        List<Long> ids = new ArrayList<>();
+        userIds.forEach(ids::add);
+
+        return userRepository.getExistingIds(ids)
+                .stream()
+                .collect(Collectors.toMap(Function.identity(), userId -> Boolean.TRUE));
+    }
+
+    private BookingLoadCheckpoint completeCheckpoint(String loadId) {
+        BookingLoadCheckpoint checkpoint = checkpointRepository.getCheckpointForUpdate(loadId).orElseThrow();
+        checkpoint.setStatus(BookingLoadStatus.COMPLETED);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        return checkpointRepository.save(checkpoint);
+    }
+
+    private void failCheckpoint(String loadId, RuntimeException e) {
+        checkpointRepository.getCheckpointForUpdate(loadId).ifPresent(checkpoint -> {
+            String error = String.valueOf(e.getMessage());
+            checkpoint.setStatus(BookingLoadStatus.FAILED);
+            checkpoint.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+        });
+    }
+
+    private static BookingLoadProgressDto toProgressDto(BookingLoadCheckpoint checkpoint, List<String> errors) {
+        return BookingLoadProgressDto.builder()
+                .loadId(checkpoint.getLoadId())
+                .status(checkpoint.getStatus())
+                .linesProcessed(checkpoint.getLinesProcessed())
+                .imported(checkpoint.getImported())
+                .rejected(checkpoint.getRejected())
+                .startedAt(checkpoint.getStartedAt())
+                .updatedAt(checkpoint.getUpdatedAt())
+                .lastError(checkpoint.getLastError())
+                .errors(errors)
+                .build();
+    }
+
+    /**
+     * Состояние одной загрузки: найденные ID предметов (с владельцами) и пользователей. Отсутствующие ID
+     * не кэшируются и запрашиваются снова в следующем пакете, в котором они встретятся.
+     */
+    private static class LoadContext {
+        private final String loadId;
+        private final long rejectedBefore;
+        private final Cache<Long, Long> itemOwners;
+        private final Cache<Long, Boolean> users;
+
+        LoadContext(String loadId, long rejectedBefore, long cacheSize) {
+            this.loadId = loadId;
+            this.rejectedBefore = rejectedBefore;
+            this.itemOwners = Caffeine.newBuilder().maximumSize(cacheSize).build();
+            this.users = Caffeine.newBuilder().maximumSize(cacheSize).build();
+        }
+
+        String getLoadId() {
+            return loadId;
+        }
+
+        long getRejectedBefore() {
+            return rejectedBefore;
+        }
+
+        Map<Long, Long> getItemOwners(Set<Long> itemIds,
+                                      Function<Iterable<? extends Long>, Map<Long, Long>> loader) {
+            return itemOwners.getAll(itemIds, loader::apply);
+        }
+
+        Map<Long, Boolean> getUsers(Set<Long> userIds,
+                                    Function<Iterable<? extends Long>, Map<Long, Boolean>> loader) {
+            return users.getAll(userIds, loader::apply);
+        }
+    }
+}
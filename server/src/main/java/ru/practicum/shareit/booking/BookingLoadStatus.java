@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking;
+
+/**
+ *     RUNNING -   загрузка выполняется или была прервана без сохранения ошибки,
+ *     COMPLETED - поток загружен полностью,
+ *     FAILED -    загрузка прервана ошибкой, ее можно продолжить с тем же loadId.
+ */
+public enum BookingLoadStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.item.ItemDto;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.user.UserDto;
 import ru.practicum.shareit.user.UserMapper;
 
 import java.util.Collections;
@@ -31,6 +33,39 @@ public class BookingMapper {
                 .collect(Collectors.toList());
     }
 
+    public static BookingDto toDto(BookingProjection booking) {
+        if (booking == null) {
+            return null;
+        }
+        return BookingDto.builder()
+                .id(booking.getId())
+                .start(booking.getStartTime())
+                .end(booking.getEndTime())
+                .item(ItemDto.builder()
+                        .id(booking.getItemId())
+                        .name(booking.getItemName())
+                        .description(booking.getItemDescription())
+                        .available(booking.getItemAvailable())
+                        .requestId(booking.getItemRequest())
+                        .build())
+                .booker(UserDto.builder()
+                        .id(booking.getBookerId())
+                        .name(booking.getBookerName())
+                        .email(booking.getBookerEmail())
+                        .build())
+                .status(booking.getStatus())
+                .build();
+    }
+
+    public static List<BookingDto> toDtoFromProjections(List<BookingProjection> bookingList) {
+        if (bookingList == null) {
+            return Collections.emptyList();
+        }
+        return bookingList.stream()
+                .map(BookingMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
     public static Booking fromDto(InputBookingDto bookingDto) {
         return Booking.builder()
                 .id(null)
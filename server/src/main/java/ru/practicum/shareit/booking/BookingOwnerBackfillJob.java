@@ -0,0 +1,130 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Заполнение booking.owner_id для бронирований, созданных до появления колонки (V9__add_booking_owner.sql).
+ * При старте приложения строки с owner_id is null обновляются в отдельном потоке пакетами по booking_id,
+ * каждый пакет - в своей транзакции, чтобы не держать блокировки на всю таблицу.
+ * Пока заполнение не завершено, BookingQueryRepositoryImpl отбирает бронирования владельца через join с item.
+ */
+@Component
+@Slf4j
+public class BookingOwnerBackfillJob {
+    private static final String SELECT_BATCH_SQL = "SELECT booking_id FROM public.booking " +
+            "WHERE owner_id IS NULL AND booking_id > ? ORDER BY booking_id LIMIT ?";
+
+    private static final String UPDATE_BATCH_SQL = "UPDATE public.booking SET owner_id = " +
+            "(SELECT i.owner FROM public.item i WHERE i.item_id = booking.item_id) " +
+            "WHERE owner_id IS NULL AND booking_id > ? AND booking_id <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "booking-owner-backfill"));
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile boolean complete;
+
+    @Value("${shareit.booking.owner-backfill.on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${shareit.booking.owner-backfill.batch-size:5000}")
+    private int batchSize;
+
+    public BookingOwnerBackfillJob(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Если заполнение при старте отключено, считается, что owner_id уже заполнен (например, новая база данных).
+     */
+    @PostConstruct
+    public void init() {
+        complete = !backfillOnStartup;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (backfillOnStartup) {
+            initiateBackfill();
+        }
+    }
+
+    /**
+     * Запуск заполнения в фоновом потоке. Если заполнение уже идет, возвращается уже завершенный future.
+     */
+    public CompletableFuture<Void> initiateBackfill() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Заполнение владельцев бронирований уже выполняется, повторный запуск пропущен");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.runAsync(() -> {
+            try {
+                run();
+            } catch (RuntimeException e) {
+                log.error("Ошибка заполнения владельцев бронирований: {}", e.getMessage(), e);
+                throw e;
+            } finally {
+                running.set(false);
+            }
+        }, executor);
+    }
+
+    /**
+     * Заполнение owner_id во всех бронированиях, где он еще не задан.
+     *
+     * @return количество обновленных бронирований
+     */
+    public long run() {
+        log.info("Начато заполнение владельцев бронирований (batchSize={})...", batchSize);
+
+        long lastId = 0L;
+        long count = 0L;
+        while (true) {
+            long batchLastId = lastId;
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_BATCH_SQL, Long.class, batchLastId, batchSize);
+
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            long batchMaxId = ids.get(ids.size() - 1);
+            Integer updated = transactionTemplate.execute(status ->
+                    jdbcTemplate.update(UPDATE_BATCH_SQL, batchLastId, batchMaxId));
+
+            lastId = batchMaxId;
+            count += updated != null ? updated : 0;
+        }
+
+        complete = true;
+        log.info("Заполнение владельцев бронирований завершено, обновлено {} записей", count);
+        return count;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка списка бронирований: только поля, необходимые для BookingDto,
+ * выбранные одним запросом с join предмета и бронирующего.
+ */
+public interface BookingProjection {
+    Long getId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+
+    BookingStatus getStatus();
+
+    Long getItemId();
+
+    String getItemName();
+
+    String getItemDescription();
+
+    Boolean getItemAvailable();
+
+    Integer getItemRequest();
+
+    Long getBookerId();
+
+    String getBookerName();
+
+    String getBookerEmail();
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Builder;
+import lombok.Getter;
+import ru.practicum.shareit.metrics.OperationTags;
+import ru.practicum.shareit.metrics.Tagged;
+
+import java.time.LocalDateTime;
+
+/**
+ * Параметры выборки списка бронирований для BookingQueryRepository.
+ * Если задан cursor, выборка начинается после него (поиск по ключу), иначе - с позиции offset.
+ * Состояние и роль служат тегами state и role метрик выборки.
+ */
+@Getter
+@Builder
+public class BookingQuery implements Tagged {
+    private final BookingRole role;
+
+    private final Long userId;
+
+    private final BookingState state;
+
+    private final LocalDateTime current;
+
+    private final BookingCursor cursor;
+
+    private final int offset;
+
+    private final int limit;
+
+    @Override
+    public String getStateTag() {
+        return state != null ? state.name() : OperationTags.NONE;
+    }
+
+    @Override
+    public String getRoleTag() {
+        return role != null ? role.name().toLowerCase() : OperationTags.NONE;
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking;
+
+import java.util.List;
+
+public interface BookingQueryRepository {
+
+    /**
+     * Список бронирований пользователя (BOOKER) или владельца (OWNER) в заданном состоянии,
+     * упорядоченный по start desc, id desc.
+     */
+    List<BookingProjection> findBookings(BookingQuery query);
+}
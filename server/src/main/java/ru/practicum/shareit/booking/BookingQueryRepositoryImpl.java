@@ -0,0 +1,179 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Сборка запроса списка бронирований через Criteria API вместо отдельного JPQL-запроса
+ * на каждое сочетание роли, состояния и способа постраничного вывода.
+ * <p>
+ * Условия добавляются всегда в одном порядке: пользователь (booker_id или owner_id), статус, интервал времени,
+ * позиция курсора; сортировка всегда start desc, id desc - в порядке индексов booking_booker_start_idx,
+ * booking_booker_status_start_idx, booking_owner_start_idx и booking_owner_status_start_idx.
+ * Все значения передаются параметрами, поэтому текст запроса зависит только от формы (роль, состояние,
+ * наличие курсора): Hibernate берет план из кэша запросов, а драйвер базы данных переиспользует
+ * подготовленный запрос.
+ * <p>
+ * Пока BookingOwnerBackfillJob не заполнил owner_id в старых бронированиях, владелец берется из item.owner.
+ */
+@RequiredArgsConstructor
+public class BookingQueryRepositoryImpl implements BookingQueryRepository {
+
+    private final EntityManager em;
+
+    private final ObjectProvider<BookingOwnerBackfillJob> ownerBackfillJob;
+
+    @Override
+    public List<BookingProjection> findBookings(BookingQuery query) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+
+        Root<Booking> booking = cq.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
+        Join<Booking, User> booker = booking.join("booker");
+
+        Path<Long> id = booking.get("id");
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        Path<BookingStatus> status = booking.get("status");
+
+        cq.multiselect(id.alias("id"),
+                start.alias("startTime"),
+                end.alias("endTime"),
+                status.alias("status"),
+                item.get("id").alias("itemId"),
+                item.get("name").alias("itemName"),
+                item.get("description").alias("itemDescription"),
+                item.get("available").alias("itemAvailable"),
+                item.get("request").alias("itemRequest"),
+                booker.get("id").alias("bookerId"),
+                booker.get("name").alias("bookerName"),
+                booker.get("email").alias("bookerEmail"));
+
+        List<Predicate> predicates = new ArrayList<>();
+        List<Consumer<TypedQuery<Tuple>>> bindings = new ArrayList<>();
+
+        ParameterExpression<Long> userId = cb.parameter(Long.class, "userId");
+        predicates.add(query.getRole() == BookingRole.BOOKER
+                ? cb.equal(booker.get("id"), userId)
+                : cb.equal(isOwnerIdFilled() ? booking.get("ownerId") : item.get("user").get("id"), userId));
+        bindings.add(q -> q.setParameter(userId, query.getUserId()));
+
+        switch (query.getState()) {
+            case WAITING:
+                predicates.add(hasStatus(cb, status, BookingStatus.WAITING, bindings));
+                break;
+            case REJECTED:
+                predicates.add(hasStatus(cb, status, BookingStatus.REJECTED, bindings));
+                break;
+            case FUTURE:
+                predicates.add(cb.greaterThan(start, current(cb, query, bindings)));
+                break;
+            case CURRENT:
+                predicates.add(cb.between(current(cb, query, bindings), start, end));
+                break;
+            case PAST:
+                predicates.add(cb.lessThan(end, current(cb, query, bindings)));
+                break;
+            default:
+                break;
+        }
+
+        BookingCursor cursor = query.getCursor();
+        if (cursor != null) {
+            ParameterExpression<LocalDateTime> cursorStart = cb.parameter(LocalDateTime.class, "cursorStart");
+            ParameterExpression<Long> cursorId = cb.parameter(Long.class, "cursorId");
+
+            predicates.add(cb.or(cb.lessThan(start, cursorStart),
+                    cb.and(cb.equal(start, cursorStart), cb.lessThan(id, cursorId))));
+            bindings.add(q -> q.setParameter(cursorStart, cursor.getStart())
+                    .setParameter(cursorId, cursor.getId()));
+        }
+
+        cq.where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(start), cb.desc(id));
+
+        TypedQuery<Tuple> typedQuery = em.createQuery(cq)
+                .setFirstResult(cursor != null ? 0 : query.getOffset())
+                .setMaxResults(query.getLimit());
+        bindings.forEach(binding -> binding.accept(typedQuery));
+
+        return typedQuery.getResultList().stream()
+                .map(BookingQueryRepositoryImpl::toProjection)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Без BookingOwnerBackfillJob в контексте (например, в срезе @DataJpaTest) owner_id считается заполненным.
+     */
+    private boolean isOwnerIdFilled() {
+        BookingOwnerBackfillJob job = ownerBackfillJob.getIfAvailable();
+        return job == null || job.isComplete();
+    }
+
+    private static Predicate hasStatus(CriteriaBuilder cb, Path<BookingStatus> status, BookingStatus value,
+                                       List<Consumer<TypedQuery<Tuple>>> bindings) {
+        ParameterExpression<BookingStatus> statusParam = cb.parameter(BookingStatus.class, "status");
+        bindings.add(q -> q.setParameter(statusParam, value));
+        return cb.equal(status, statusParam);
+    }
+
+    private static ParameterExpression<LocalDateTime> current(CriteriaBuilder cb, BookingQuery query,
+                                                              List<Consumer<TypedQuery<Tuple>>> bindings) {
+        ParameterExpression<LocalDateTime> current = cb.parameter(LocalDateTime.class, "current");
+        bindings.add(q -> q.setParameter(current, query.getCurrent()));
+        return current;
+    }
+
+    private static BookingProjection toProjection(Tuple tuple) {
+        return new BookingRow(tuple.get("id", Long.class),
+                tuple.get("startTime", LocalDateTime.class),
+                tuple.get("endTime", LocalDateTime.class),
+                tuple.get("status", BookingStatus.class),
+                tuple.get("itemId", Long.class),
+                tuple.get("itemName", String.class),
+                tuple.get("itemDescription", String.class),
+                tuple.get("itemAvailable", Boolean.class),
+                tuple.get("itemRequest", Integer.class),
+                tuple.get("bookerId", Long.class),
+                tuple.get("bookerName", String.class),
+                tuple.get("bookerEmail", String.class));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class BookingRow implements BookingProjection {
+        private final Long id;
+        private final LocalDateTime startTime;
+        private final LocalDateTime endTime;
+        private final BookingStatus status;
+        private final Long itemId;
+        private final String itemName;
+        private final String itemDescription;
+        private final Boolean itemAvailable;
+        private final Integer itemRequest;
+        private final Long bookerId;
+        private final String bookerName;
+        private final String bookerEmail;
+    }
+}
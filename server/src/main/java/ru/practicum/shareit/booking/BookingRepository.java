@@ -1,97 +1,48 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingQueryRepository {
 
     Optional<Booking> getBookingById(Long id);
 
-    Optional<Booking> getTopBookingByItem_IdAndBooker_IdAndEndBeforeOrderByEndDesc(Long itemId, Long bookerId, LocalDateTime current);
-
-    @Modifying(clearAutomatically = true)
-    @Query("update Booking b " +
-            "set b.status = :status " +
-            "where b.id = :bookingId")
-    void updateStatus(@Param("bookingId") Long bookingId, @Param("status") BookingStatus status);
-
-    Page<Booking> getAllBookingByBooker_IdOrderByStartDesc(Long userId, Pageable pageable);
-
-    Page<Booking> getAllBookingByBooker_IdAndStatusOrderByStartDesc(Long userId, BookingStatus status, Pageable pageable);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where b.booker.id = :bookerId " +
-            "and b.start > :current " +
-            "order by b.start desc")
-    Page<Booking> getAllBookingByUserInFuture(@Param("bookerId") Long bookerId,
-                                              @Param("current") LocalDateTime current,
-                                              Pageable pageable);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where b.booker.id = :bookerId " +
-            "and :current between b.start and b.end " +
-            "order by b.start desc")
-    Page<Booking> getAllBookingByBookerInCurrent(@Param("bookerId") Long bookerId,
-                                                 @Param("current") LocalDateTime current,
-                                                 Pageable pageable);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where b.booker.id = :bookerId " +
-            "and b.end < :current " +
-            "order by b.start desc")
-    Page<Booking> getAllBookingByUserInPast(@Param("bookerId") Long bookerId,
-                                            @Param("current") LocalDateTime current,
-                                            Pageable pageable);
+    boolean existsByIdAndStatus(Long id, BookingStatus status);
 
-    @Query("select b " +
+    @Query("select b.id as id, b.start as startTime, b.end as endTime " +
             "from Booking b " +
-            "where b.item.user.id = :ownerId " +
-            "order by b.start desc")
-    Page<Booking> getAllBookingByOwner(@Param("ownerId") Long ownerId, Pageable pageable);
+            "where b.item.id = :itemId and b.status = :status")
+    List<BookingIntervalProjection> getBookingIntervals(@Param("itemId") Long itemId,
+                                                        @Param("status") BookingStatus status);
 
-    @Query("select b " +
-            "from Booking b " +
-            "where b.item.user.id = :ownerId " +
-            "and b.start > :current " +
-            "order by b.start desc")
-    Page<Booking> getAllBookingByOwnerInFuture(@Param("ownerId") Long ownerId,
-                                               @Param("current") LocalDateTime current,
-                                               Pageable pageable);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where b.item.user.id = :ownerId " +
-            "and :current between b.start and b.end " +
-            "order by b.start desc")
-    Page<Booking> getAllBookingByOwnerInCurrent(@Param("ownerId") Long ownerId,
-                                                @Param("current") LocalDateTime current,
-                                                Pageable pageable);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where b.item.user.id = :ownerId " +
-            "and b.end < :current " +
-            "order by b.start desc")
-    Page<Booking> getAllBookingByOwnerInPast(@Param("ownerId") Long ownerId,
-                                             @Param("current") LocalDateTime current,
-                                             Pageable pageable);
+    Optional<Booking> getTopBookingByItem_IdAndBooker_IdAndEndBeforeOrderByEndDesc(Long itemId, Long bookerId, LocalDateTime current);
 
-    @Query("select b " +
-            "from Booking b " +
-            "where b.item.user.id = :ownerId " +
-            "and b.status = :status " +
-            "order by b.start desc")
-    Page<Booking> getAllBookingByOwnerAndStatus(@Param("ownerId") Long ownerId,
-                                                @Param("status") BookingStatus status,
-                                                Pageable pageable);
+    /**
+     * Смена статуса одним запросом, только если бронирование не изменилось после чтения (статус и версия совпадают).
+     * Возвращает число измененных записей: 0 означает, что бронирование было изменено параллельно.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b " +
+            "set b.status = :newStatus, b.version = b.version + 1 " +
+            "where b.id = :bookingId and b.status = :expectedStatus and b.version = :version")
+    int transitionStatus(@Param("bookingId") Long bookingId,
+                         @Param("expectedStatus") BookingStatus expectedStatus,
+                         @Param("newStatus") BookingStatus newStatus,
+                         @Param("version") Long version);
+
+    /**
+     * Перенос бронирований предмета на нового владельца (после ItemRepository.updateItem).
+     * Бронирования, у которых владелец уже совпадает, не изменяются.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b " +
+            "set b.ownerId = :ownerId " +
+            "where b.item.id = :itemId and (b.ownerId is null or b.ownerId <> :ownerId)")
+    int updateOwnerByItemId(@Param("itemId") Long itemId, @Param("ownerId") Long ownerId);
 }
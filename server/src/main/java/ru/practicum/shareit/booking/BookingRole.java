@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking;
+
+/**
+ * Чьи бронирования выбираются: сделанные пользователем или бронирования его предметов.
+ */
+public enum BookingRole {
+    BOOKER,
+    OWNER
+}
@@ -13,4 +13,8 @@ public interface BookingService {
     List<BookingDto> getAllBookingByUser(Long userId, Integer from, Integer size, String state);
 
     List<BookingDto> getAllBookingByOwner(Long ownerId, Integer from, Integer size, String state);
+
+    List<BookingDto> getAllBookingByUserAfter(Long userId, String after, Integer size, String state);
+
+    List<BookingDto> getAllBookingByOwnerAfter(Long ownerId, String after, Integer size, String state);
 }
@@ -2,19 +2,19 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.ApiErrorException;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemBookingSummaryService;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.metrics.OperationTags;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -26,6 +26,8 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final ItemRepository  itemRepository;
     private final UserRepository userRepository;
+    private final BookingConflictIndex bookingConflictIndex;
+    private final ItemBookingSummaryService itemBookingSummaryService;
 
     @Override
     public BookingDto createBooking(InputBookingDto bookingDto, Long bookerId) {
@@ -39,6 +41,12 @@ public class BookingServiceImpl implements BookingService {
                     "Нельзя забронировать свой предмет");
         }
 
+        bookingConflictIndex.findConflict(newBooking.getItem().getId(), newBooking.getStart(), newBooking.getEnd())
+                .ifPresent(conflictId -> {
+                    throw sendErrorMessage(HttpStatus.BAD_REQUEST,
+                            "Предмет с ID = " + bookingDto.getItemId() + " уже забронирован на указанный период");
+                });
+
         newBooking.setStatus(BookingStatus.WAITING);
 
         Booking ret = bookingRepository.save(newBooking);
@@ -62,11 +70,43 @@ public class BookingServiceImpl implements BookingService {
                     "Смена статуса бронирования не требуется");
         }
 
-        bookingRepository.updateStatus(bookingId, newStatus);
-        return BookingMapper.toDto(getBookingById(bookingId));
+        Long itemId = booking.getItem().getId();
+        if (newStatus == BookingStatus.APPROVED) {
+            bookingConflictIndex.reserve(itemId, bookingId, booking.getStart(), booking.getEnd())
+                    .ifPresent(conflictId -> {
+                        throw sendErrorMessage(HttpStatus.CONFLICT,
+                                "Бронирование с ID = " + bookingId +
+                                        " пересекается с подтвержденным бронированием с ID = " + conflictId);
+                    });
+        } else if (booking.getStatus() == BookingStatus.APPROVED) {
+            bookingConflictIndex.release(itemId, bookingId);
+        }
+
+        int updated;
+        try {
+            updated = bookingRepository.transitionStatus(bookingId, booking.getStatus(), newStatus,
+                    booking.getVersion());
+        } catch (DataIntegrityViolationException e) {
+            throw sendErrorMessage(HttpStatus.CONFLICT,
+                    "Бронирование с ID = " + bookingId + " пересекается с другим подтвержденным бронированием");
+        }
+
+        if (updated == 0) {
+            throw sendErrorMessage(HttpStatus.CONFLICT,
+                    "Статус бронирования с ID = " + bookingId + " был изменен другим запросом");
+        }
+
+        if (newStatus == BookingStatus.APPROVED || booking.getStatus() == BookingStatus.APPROVED) {
+            itemBookingSummaryService.refreshSummary(itemId);
+        }
+
+        booking.setStatus(newStatus);
+        booking.setVersion(booking.getVersion() + 1);
+        return BookingMapper.toDto(booking);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BookingDto getBookingByUser(Long bookingId, Long userId) {
         Booking booking = getBookingById(bookingId);
 
@@ -79,56 +119,64 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookingDto> getAllBookingByUser(Long userId, Integer from, Integer size, String state) {
         getUserById(userId);
 
-        Pageable pageParam = calcPageParam(from, size);
-
-        switch (checkState(state)) {
-            case ALL:
-                return BookingMapper.toDto(bookingRepository.getAllBookingByBooker_IdOrderByStartDesc(userId, pageParam).toList());
-            case PAST:
-                return BookingMapper.toDto(bookingRepository.getAllBookingByUserInPast(userId, LocalDateTime.now(), pageParam).toList());
-            case CURRENT:
-                return BookingMapper.toDto(bookingRepository.getAllBookingByBookerInCurrent(userId, LocalDateTime.now(), pageParam).toList());
-            case FUTURE:
-                return BookingMapper.toDto(bookingRepository.getAllBookingByUserInFuture(userId, LocalDateTime.now(), pageParam).toList());
-            case WAITING:
-                return BookingMapper.toDto(bookingRepository.getAllBookingByBooker_IdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING, pageParam).toList());
-            case REJECTED:
-                return BookingMapper.toDto(bookingRepository.getAllBookingByBooker_IdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED, pageParam).toList());
-            default:
-                return BookingMapper.toDto(new ArrayList<>());
-        }
+        return findBookings(BookingRole.BOOKER, userId, state, null, calcOffset(from, size), size);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookingDto> getAllBookingByOwner(Long ownerId, Integer from, Integer size, String state) {
         getUserById(ownerId);
 
-        Pageable pageParam = calcPageParam(from, size);
-
-        switch (checkState(state)) {
-            case ALL:
-                return BookingMapper.toDto(bookingRepository.getAllBookingByOwner(ownerId, pageParam).toList());
-            case PAST:
-                return BookingMapper.toDto(bookingRepository.getAllBookingByOwnerInPast(ownerId, LocalDateTime.now(), pageParam).toList());
-            case CURRENT:
-                return BookingMapper.toDto(bookingRepository.getAllBookingByOwnerInCurrent(ownerId, LocalDateTime.now(), pageParam).toList());
-            case FUTURE:
-                return BookingMapper.toDto(bookingRepository.getAllBookingByOwnerInFuture(ownerId, LocalDateTime.now(), pageParam).toList());
-            case WAITING:
-                return BookingMapper.toDto(bookingRepository.getAllBookingByOwnerAndStatus(ownerId, BookingStatus.WAITING, pageParam).toList());
-            case REJECTED:
-                return BookingMapper.toDto(bookingRepository.getAllBookingByOwnerAndStatus(ownerId, BookingStatus.REJECTED, pageParam).toList());
-            default:
-                return BookingMapper.toDto(new ArrayList<>());
-        }
+        return findBookings(BookingRole.OWNER, ownerId, state, null, calcOffset(from, size), size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllBookingByUserAfter(Long userId, String after, Integer size, String state) {
+        getUserById(userId);
+
+        return findBookings(BookingRole.BOOKER, userId, state, checkCursor(after), 0, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllBookingByOwnerAfter(Long ownerId, String after, Integer size, String state) {
+        getUserById(ownerId);
+
+        return findBookings(BookingRole.OWNER, ownerId, state, checkCursor(after), 0, size);
+    }
+
+    private List<BookingDto> findBookings(BookingRole role, Long userId, String state, BookingCursor cursor,
+                                          int offset, int limit) {
+        BookingQuery query = BookingQuery.builder()
+                .role(role)
+                .userId(userId)
+                .state(checkState(state))
+                .current(LocalDateTime.now())
+                .cursor(cursor)
+                .offset(offset)
+                .limit(limit)
+                .build();
+        OperationTags.tagCurrent(query);
+
+        return BookingMapper.toDtoFromProjections(bookingRepository.findBookings(query));
+    }
+
+    private BookingCursor checkCursor(String after) {
+        return BookingCursor.from(after).orElseThrow(() ->
+                sendErrorMessage(HttpStatus.BAD_REQUEST,
+                        "Некорректное значение параметра 'after': " + after));
     }
 
-    private Pageable calcPageParam(Integer from, Integer size) {
-        int start = from / size;
-        return PageRequest.of(start, size);
+    /**
+     * Смещение первой страницы, содержащей позицию from (как у PageRequest.of(from / size, size)).
+     */
+    private int calcOffset(Integer from, Integer size) {
+        return from / size * size;
     }
 
     private BookingState checkState(String state) {
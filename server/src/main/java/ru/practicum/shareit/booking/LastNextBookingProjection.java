@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+
+public interface LastNextBookingProjection {
+    Long getItemId();
+
+    Long getId();
+
+    Long getBookerId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+}
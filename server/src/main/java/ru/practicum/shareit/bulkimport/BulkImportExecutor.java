@@ -0,0 +1,97 @@
+package ru.practicum.shareit.bulkimport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.search.jpa.FullTextEntityManager;
+import org.hibernate.search.jpa.Search;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exceptions.ApiErrorException;
+
+import javax.persistence.EntityManager;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Массовый импорт записей из потока NDJSON.
+ * <p>
+ * Поток читается пакетами по batch-size строк, каждый пакет сохраняется в отдельной транзакции: вставки
+ * отправляются в базу данных пакетами JDBC (hibernate.jdbc.batch_size, идентификаторы берутся из pooled-
+ * последовательностей), а документы Hibernate Search для всего пакета записываются в индекс одним flushToIndexes.
+ * После пакета контекст персистентности очищается, поэтому память не растет с размером потока.
+ * Сохраненные пакеты не откатываются, если импорт прерывается на одном из следующих.
+ */
+@Slf4j
+@Component
+public class BulkImportExecutor {
+
+    private final EntityManager em;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${shareit.bulk-import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${shareit.bulk-import.max-errors:100}")
+    private int maxErrors;
+
+    public BulkImportExecutor(EntityManager em, ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
+        this.em = em;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public <T> BulkImportResultDto importNdjson(InputStream input, Class<T> type, BatchHandler<T> handler) {
+        BulkImportResultDto result = new BulkImportResultDto(maxErrors);
+        NdjsonReader<T> reader = new NdjsonReader<>(input, objectMapper, type);
+
+        List<ImportLine<T>> batch;
+        while (!(batch = reader.nextBatch(batchSize, result)).isEmpty()) {
+            List<ImportLine<T>> lines = batch;
+
+            try {
+                Integer imported = transactionTemplate.execute(status -> importBatch(lines, handler, result));
+                result.addImported(imported != null ? imported : 0);
+            } catch (RuntimeException e) {
+                String msg = "Импорт прерван на строке " + lines.get(0).getLineNumber() + ", сохранено записей: "
+                        + result.getImported() + ". Причина: " + e.getMessage();
+                log.error(msg, e);
+                throw new ApiErrorException(HttpStatus.INTERNAL_SERVER_ERROR, msg);
+            }
+        }
+
+        log.info("Импортировано {} записей {}, отклонено {}", result.getImported(), type.getSimpleName(),
+                result.getRejected());
+        return result;
+    }
+
+    private <T> int importBatch(List<ImportLine<T>> lines, BatchHandler<T> handler, BulkImportResultDto result) {
+        // Импортируемые записи не нужны в кэше второго уровня: они вытеснили бы из него часто читаемые
+        em.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+
+        int imported = handler.importBatch(lines, result);
+
+        FullTextEntityManager fullTextEntityManager = Search.getFullTextEntityManager(em);
+        fullTextEntityManager.flush();
+        fullTextEntityManager.flushToIndexes();
+        fullTextEntityManager.clear();
+
+        return imported;
+    }
+
+    @FunctionalInterface
+    public interface BatchHandler<T> {
+        /**
+         * Сохранение пакета строк; строки с некорректными данными отклоняются через result.reject.
+         *
+         * @return число сохраненных записей
+         */
+        int importBatch(List<ImportLine<T>> lines, BulkImportResultDto result);
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.bulkimport;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Итог массового импорта: число сохраненных и отклоненных записей и описания первых ошибок
+ * (не больше maxErrors, чтобы ответ на импорт большого файла с ошибками не разрастался).
+ */
+public class BulkImportResultDto {
+    @Getter
+    private long imported;
+
+    @Getter
+    private long rejected;
+
+    @Getter
+    private final List<String> errors = new ArrayList<>();
+
+    private final int maxErrors;
+
+    public BulkImportResultDto(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    public void addImported(long count) {
+        imported += count;
+    }
+
+    public void reject(long lineNumber, String reason) {
+        rejected++;
+        if (errors.size() < maxErrors) {
+            errors.add("Строка " + lineNumber + ": " + reason);
+        }
+    }
+}
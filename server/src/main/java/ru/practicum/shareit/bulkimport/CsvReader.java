@@ -0,0 +1,65 @@
+package ru.practicum.shareit.bulkimport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.exceptions.ApiErrorException;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Чтение CSV с разделителем-запятой. Первая строка потока - заголовок с именами полей типа T,
+ * значения остальных строк преобразуются в T по этим именам через ObjectMapper (как поля JSON).
+ * Кавычки не поддерживаются: значения не должны содержать запятых и переводов строк.
+ * Пустое значение считается отсутствующим (null).
+ */
+public class CsvReader<T> extends ImportReader<T> {
+    private static final String SEPARATOR = ",";
+
+    private final ObjectMapper objectMapper;
+    private final Class<T> type;
+    private final String[] header;
+
+    public CsvReader(InputStream input, ObjectMapper objectMapper, Class<T> type) {
+        super(input);
+        this.objectMapper = objectMapper;
+        this.type = type;
+
+        String headerLine = readLine();
+        if (headerLine == null || headerLine.isBlank()) {
+            throw new ApiErrorException(HttpStatus.BAD_REQUEST, "Отсутствует строка заголовка CSV");
+        }
+        this.header = split(headerLine);
+    }
+
+    @Override
+    protected T parseLine(String line) {
+        String[] values = split(line);
+        if (values.length != header.length) {
+            throw new IllegalArgumentException("ожидается значений: " + header.length + ", получено: "
+                    + values.length);
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            fields.put(header[i], values[i].isEmpty() ? null : values[i]);
+        }
+
+        try {
+            return objectMapper.convertValue(fields, type);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("некорректное значение: " + (e.getCause() instanceof JsonProcessingException
+                    ? ((JsonProcessingException) e.getCause()).getOriginalMessage() : e.getMessage()));
+        }
+    }
+
+    private static String[] split(String line) {
+        String[] values = line.split(SEPARATOR, -1);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = values[i].trim();
+        }
+        return values;
+    }
+}
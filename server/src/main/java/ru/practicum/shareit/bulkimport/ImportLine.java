@@ -0,0 +1,12 @@
+package ru.practicum.shareit.bulkimport;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ImportLine<T> {
+    private final long lineNumber;
+
+    private final T value;
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.bulkimport;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Построчное чтение потока импорта пакетами, без загрузки всего потока в память.
+ * Пустые строки пропускаются, строки, которые не удалось разобрать, отклоняются в BulkImportResultDto.
+ * Номера строк считаются от начала потока (с единицы), включая пустые и служебные строки.
+ */
+public abstract class ImportReader<T> {
+    private final BufferedReader reader;
+
+    private long lineNumber;
+
+    protected ImportReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Следующие (не больше size) разобранные строки; пустой список означает конец потока.
+     */
+    public List<ImportLine<T>> nextBatch(int size, BulkImportResultDto result) {
+        List<ImportLine<T>> batch = new ArrayList<>(size);
+
+        String line;
+        while (batch.size() < size && (line = readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+
+            try {
+                batch.add(new ImportLine<>(lineNumber, parseLine(line)));
+            } catch (IllegalArgumentException e) {
+                result.reject(lineNumber, e.getMessage());
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Пропуск строк до строки с номером lineNumber включительно (продолжение прерванного импорта).
+     *
+     * @return false, если поток закончился раньше
+     */
+    public boolean skipTo(long lineNumber) {
+        while (this.lineNumber < lineNumber) {
+            if (readLine() == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Номер последней прочитанной строки.
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Разбор непустой строки; IllegalArgumentException отклоняет строку с сообщением исключения.
+     */
+    protected abstract T parseLine(String line);
+
+    protected String readLine() {
+        try {
+            String line = reader.readLine();
+            if (line != null) {
+                lineNumber++;
+            }
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.bulkimport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+
+/**
+ * Чтение NDJSON: один JSON-объект в строке.
+ */
+public class NdjsonReader<T> extends ImportReader<T> {
+    private final ObjectMapper objectMapper;
+    private final Class<T> type;
+
+    public NdjsonReader(InputStream input, ObjectMapper objectMapper, Class<T> type) {
+        super(input);
+        this.objectMapper = objectMapper;
+        this.type = type;
+    }
+
+    @Override
+    protected T parseLine(String line) {
+        try {
+            return objectMapper.readValue(line, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("некорректный JSON: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -2,11 +2,14 @@ package ru.practicum.shareit.comments;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentsRepository extends JpaRepository<Comments, Long> {
     List<Comments> findCommentsByItem_IdAndAuthor_Id(Long userId, Long authorId);
 
     List<Comments> findCommentsByItem_Id(Long userId);
+
+    List<Comments> findCommentsByItem_IdInAndAuthor_Id(Collection<Long> itemIds, Long authorId);
 }
 
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Чтение с реплик (shareit.datasource.replica.enabled=true): основной источник данных строится
+ * из spring.datasource.*, реплики - из shareit.datasource.replica.urls (через запятую), все остальные
+ * компоненты получают маршрутизирующий источник данных (ReplicaRoutingDataSource).
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    private static final String POSTGRES_LAG_QUERY = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    @Value("${shareit.datasource.replica.urls}")
+    private List<String> urls;
+
+    @Value("${shareit.datasource.replica.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${shareit.datasource.replica.password:${spring.datasource.password:}}")
+    private String password;
+
+    @Value("${shareit.datasource.replica.maximum-pool-size:10}")
+    private int maximumPoolSize;
+
+    @Value("${shareit.datasource.replica.max-lag-ms:1000}")
+    private long maxLag;
+
+    @Value("${shareit.datasource.replica.lag-query:" + POSTGRES_LAG_QUERY + "}")
+    private String lagQuery;
+
+    @Value("${shareit.datasource.replica.sticky-primary-ms:5000}")
+    private long stickyPrimary;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(DataSourceProperties properties, HikariDataSource primaryDataSource) {
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + i;
+
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("shareit-" + name);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            replica.setMaxLifetime(primaryDataSource.getMaxLifetime());
+            // Свойства драйвера (prepareThreshold, кэш подготовленных запросов) - те же, что у основной базы данных
+            replica.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            replica.setReadOnly(true);
+            replicas.put(name, replica);
+        }
+
+        log.info("Чтение с реплик включено: реплик {}, допустимое отставание {} мс", replicas.size(), maxLag);
+        return new ReplicaPool(replicas, lagQuery, maxLag);
+    }
+
+    /**
+     * Метрики пулов реплик (hikaricp.*) подключаются после создания MeterRegistry: сам реестр зависит
+     * от источников данных (метрики DataSourcePoolMetadata), поэтому запрашивать его при создании пулов нельзя.
+     */
+    @Bean
+    public MeterBinder replicaPoolMetrics(ReplicaPool replicaPool) {
+        return registry -> replicaPool.getDataSources().values()
+                .forEach(replica -> replica.setMetricRegistry(registry));
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ReplicaPool replicaPool) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaPool, stickyPrimary);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
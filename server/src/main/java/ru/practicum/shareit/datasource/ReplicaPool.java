@@ -0,0 +1,115 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Пул реплик для чтения с проверкой отставания.
+ * <p>
+ * Отставание каждой реплики периодически измеряется запросом lag-query (миллисекунды). Реплика, отставшая больше
+ * чем на max-lag-ms или не ответившая на проверку, исключается из выбора до следующей успешной проверки.
+ * Реплики выбираются по кругу среди доступных.
+ */
+@Slf4j
+public class ReplicaPool implements DisposableBean {
+    private final Map<String, HikariDataSource> replicas;
+    private final List<String> names;
+    private final String lagQuery;
+    private final long maxLag;
+
+    private final Set<String> available = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public ReplicaPool(Map<String, HikariDataSource> replicas, String lagQuery, long maxLag) {
+        this.replicas = replicas;
+        this.names = new ArrayList<>(replicas.keySet());
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+    }
+
+    public Map<String, HikariDataSource> getDataSources() {
+        return replicas;
+    }
+
+    /**
+     * Следующая доступная реплика; пусто, если все реплики отстают или недоступны.
+     */
+    public Optional<String> nextReplica() {
+        int size = names.size();
+        if (size == 0) {
+            return Optional.empty();
+        }
+
+        int start = Math.floorMod(counter.getAndIncrement(), size);
+
+        for (int i = 0; i < size; i++) {
+            String name = names.get((start + i) % size);
+            if (available.contains(name)) {
+                return Optional.of(name);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public boolean isAvailable(String name) {
+        return available.contains(name);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.datasource.replica.lag-check-interval-ms:1000}")
+    public void checkReplicas() {
+        replicas.forEach((name, dataSource) -> {
+            boolean wasAvailable = available.contains(name);
+
+            try {
+                long lag = getLag(dataSource);
+                if (lag <= maxLag) {
+                    available.add(name);
+                    if (!wasAvailable) {
+                        log.info("Реплика {} доступна для чтения, отставание {} мс", name, lag);
+                    }
+                } else {
+                    available.remove(name);
+                    if (wasAvailable) {
+                        log.warn("Реплика {} исключена из чтения: отставание {} мс больше {} мс", name, lag, maxLag);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                available.remove(name);
+                if (wasAvailable) {
+                    log.warn("Реплика {} исключена из чтения: ошибка проверки отставания: {}", name, e.getMessage());
+                }
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+
+    private long getLag(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                throw new SQLException("Запрос отставания реплики не вернул результата");
+            }
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Выбор источника данных для соединения: транзакции readOnly = true читают с реплики, остальные запросы
+ * (изменяющие транзакции и работа вне транзакции) выполняются на основной базе данных.
+ * <p>
+ * После изменяющей транзакции пользователь (X-Sharer-User-Id) на sticky-primary-ms закрепляется за основной
+ * базой данных, чтобы его следующие чтения видели его же изменения, даже если реплика еще их не получила.
+ * Закрепление хранится в памяти экземпляра сервера.
+ * <p>
+ * Соединение выбирается при первом запросе к базе данных, поэтому источник данных оборачивается
+ * в LazyConnectionDataSourceProxy: к этому моменту признак readOnly транзакции уже установлен.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY = "primary";
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final ReplicaPool replicaPool;
+
+    private final Cache<Long, Boolean> stickyUsers;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaPool replicaPool, long stickyPrimary) {
+        this.replicaPool = replicaPool;
+        this.stickyUsers = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(stickyPrimary))
+                .build();
+
+        Map<Object, Object> targetDataSources = new HashMap<>(replicaPool.getDataSources());
+        targetDataSources.put(PRIMARY, primary);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = getCurrentUserId();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                stickyUsers.put(userId, Boolean.TRUE);
+            }
+            return PRIMARY;
+        }
+
+        if (userId != null && stickyUsers.getIfPresent(userId) != null) {
+            log.debug("Чтение пользователя с ID={} выполняется на основной базе данных после изменения", userId);
+            return PRIMARY;
+        }
+
+        return replicaPool.nextReplica().orElseGet(() -> {
+            log.debug("Нет доступных реплик, чтение выполняется на основной базе данных");
+            return PRIMARY;
+        });
+    }
+
+    @Nullable
+    private static Long getCurrentUserId() {
+        var requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (!(requestAttributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+
+        String userId = ((ServletRequestAttributes) requestAttributes).getRequest().getHeader(USER_ID_HEADER);
+        if (userId == null) {
+            return null;
+        }
+
+        try {
+            return Long.valueOf(userId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
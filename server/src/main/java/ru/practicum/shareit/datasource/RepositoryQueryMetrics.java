@@ -0,0 +1,125 @@
+package ru.practicum.shareit.datasource;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.metrics.OperationTags;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время выполнения и число значений параметров вызовов методов репозиториев.
+ * <p>
+ * Для каждого метода (имя запроса вида BookingRepository.findBookings) публикуются таймер
+ * shareit.repository.query и распределение shareit.repository.query.binds - число значений параметров вызова:
+ * коллекции и массивы считаются поэлементно, так видны запросы с длинными списками в IN.
+ * Теги таймера: repository, method, state и role (из параметра, реализующего Tagged, например BookingQuery) и outcome
+ * (см. OperationTags).
+ * Вызовы дольше slow-query-threshold-ms пишутся в лог вместе с текстом запроса из @Query.
+ */
+@Slf4j
+@Component
+public class RepositoryQueryMetrics {
+    private static final int MAX_LOGGED_QUERY_LENGTH = 500;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<QueryKey, QueryMeters> meters = new ConcurrentHashMap<>();
+
+    @Value("${shareit.datasource.slow-query-threshold-ms:200}")
+    private long slowQueryThreshold;
+
+    public RepositoryQueryMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(Class<?> repositoryInterface, Method method, Object[] arguments, long durationNanos,
+                       @Nullable Throwable error) {
+        String repository = repositoryInterface.getSimpleName();
+        int binds = countBinds(arguments);
+        OperationTags tags = OperationTags.fromArguments(arguments);
+
+        QueryKey queryKey = new QueryKey(repository, method.getName(),
+                tags != null ? tags.getState() : OperationTags.NONE,
+                tags != null ? tags.getRole() : OperationTags.NONE,
+                OperationTags.outcome(error));
+        QueryMeters queryMeters = meters.computeIfAbsent(queryKey, key -> new QueryMeters(key, meterRegistry));
+        queryMeters.timer.record(durationNanos, TimeUnit.NANOSECONDS);
+        queryMeters.binds.record(binds);
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        if (durationMs >= slowQueryThreshold) {
+            log.warn("Медленный запрос {}.{}: {} мс, значений параметров: {}{}", repository, method.getName(),
+                    durationMs, binds, getQueryText(method));
+        }
+    }
+
+    private static int countBinds(Object[] arguments) {
+        int binds = 0;
+        for (Object argument : arguments) {
+            if (argument instanceof Collection) {
+                binds += ((Collection<?>) argument).size();
+            } else if (argument != null && argument.getClass().isArray()) {
+                binds += Array.getLength(argument);
+            } else if (!(argument instanceof Pageable || argument instanceof Sort)) {
+                binds++;
+            }
+        }
+        return binds;
+    }
+
+    private static String getQueryText(Method method) {
+        Query query = method.getAnnotation(Query.class);
+        if (query == null || query.value().isEmpty()) {
+            return "";
+        }
+
+        String text = query.value().replaceAll("\\s+", " ").trim();
+        return ", запрос: " + (text.length() > MAX_LOGGED_QUERY_LENGTH
+                ? text.substring(0, MAX_LOGGED_QUERY_LENGTH) + "..." : text);
+    }
+
+    @Data
+    private static class QueryKey {
+        private final String repository;
+        private final String method;
+        private final String state;
+        private final String role;
+        private final String outcome;
+    }
+
+    private static class QueryMeters {
+        private final Timer timer;
+        private final DistributionSummary binds;
+
+        QueryMeters(QueryKey key, MeterRegistry meterRegistry) {
+            this.timer = Timer.builder("shareit.repository.query")
+                    .description("Время вызова метода репозитория")
+                    .tag("repository", key.getRepository())
+                    .tag("method", key.getMethod())
+                    .tag("state", key.getState())
+                    .tag("role", key.getRole())
+                    .tag("outcome", key.getOutcome())
+                    .register(meterRegistry);
+            this.binds = DistributionSummary.builder("shareit.repository.query.binds")
+                    .description("Число значений параметров вызова метода репозитория")
+                    .tag("repository", key.getRepository())
+                    .tag("method", key.getMethod())
+                    .tag("outcome", key.getOutcome())
+                    .register(meterRegistry);
+        }
+    }
+}
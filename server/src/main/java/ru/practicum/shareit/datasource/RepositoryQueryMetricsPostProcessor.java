@@ -0,0 +1,51 @@
+package ru.practicum.shareit.datasource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Добавляет в прокси каждого репозитория Spring Data перехватчик, передающий время вызова
+ * и его параметры в RepositoryQueryMetrics.
+ */
+@Component
+@ConditionalOnProperty(value = "shareit.metrics.instrumentation.enabled", matchIfMissing = true)
+public class RepositoryQueryMetricsPostProcessor implements BeanPostProcessor {
+
+    // Метрики (и MeterRegistry) создаются при первом вызове репозитория, а не вместе с BeanPostProcessor
+    private final SingletonSupplier<RepositoryQueryMetrics> repositoryQueryMetrics;
+
+    public RepositoryQueryMetricsPostProcessor(ObjectProvider<RepositoryQueryMetrics> repositoryQueryMetrics) {
+        this.repositoryQueryMetrics = SingletonSupplier.of(repositoryQueryMetrics::getObject);
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport) {
+            ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(interceptor(repositoryInformation.getRepositoryInterface()))));
+        }
+        return bean;
+    }
+
+    private MethodInterceptor interceptor(Class<?> repositoryInterface) {
+        return invocation -> {
+            long start = System.nanoTime();
+            Throwable error = null;
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                error = e;
+                throw e;
+            } finally {
+                repositoryQueryMetrics.obtain().record(repositoryInterface, invocation.getMethod(),
+                        invocation.getArguments(), System.nanoTime() - start, error);
+            }
+        };
+    }
+}
@@ -3,47 +3,79 @@ package ru.practicum.shareit.item;
 import lombok.*;
 import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
 import org.apache.lucene.analysis.core.StopFilterFactory;
+import org.apache.lucene.analysis.ngram.NGramFilterFactory;
 import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.search.annotations.*;
 import org.hibernate.search.annotations.Parameter;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 
 @Entity
 @Indexed(index = "idx_item")
 @Table(name = "item", schema = "public")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "item")
 @Builder
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@AnalyzerDef(name = "textAnalyzer",
-        tokenizer = @TokenizerDef(factory = StandardTokenizerFactory.class),
-        filters = { @TokenFilterDef(factory = LowerCaseFilterFactory.class),
-                    @TokenFilterDef(
-                        factory = StopFilterFactory.class,
-                        params = {
-                                @Parameter(name = "words", value = "stopwords_ru.txt"),
-                                @Parameter(name = "ignoreCase", value = "true")
-                        }
-                )
-        })
+@AnalyzerDefs({
+        @AnalyzerDef(name = "textAnalyzer",
+                tokenizer = @TokenizerDef(factory = StandardTokenizerFactory.class),
+                filters = { @TokenFilterDef(factory = LowerCaseFilterFactory.class),
+                            @TokenFilterDef(
+                                factory = StopFilterFactory.class,
+                                params = {
+                                        @Parameter(name = "words", value = "stopwords_ru.txt"),
+                                        @Parameter(name = "ignoreCase", value = "true")
+                                }
+                        )
+                }),
+        @AnalyzerDef(name = "ngramAnalyzer",
+                tokenizer = @TokenizerDef(factory = StandardTokenizerFactory.class),
+                filters = { @TokenFilterDef(factory = LowerCaseFilterFactory.class),
+                            @TokenFilterDef(
+                                factory = NGramFilterFactory.class,
+                                params = {
+                                        @Parameter(name = "minGramSize", value = "1"),
+                                        @Parameter(name = "maxGramSize", value = "20")
+                                }
+                        )
+                }),
+        @AnalyzerDef(name = "ngramQueryAnalyzer",
+                tokenizer = @TokenizerDef(factory = StandardTokenizerFactory.class),
+                filters = { @TokenFilterDef(factory = LowerCaseFilterFactory.class) })
+})
 @Analyzer(definition = "textAnalyzer")
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_item_id_seq")
+    @SequenceGenerator(name = "item_item_id_seq", sequenceName = "public.item_item_id_seq", allocationSize = 50)
     @Column(name = "item_id")
+    @Field(name = "idSort", analyze = Analyze.NO)
+    @SortableField(forField = "idSort")
     private Long id;
 
-    @Field(name = "nameFiltered", termVector = TermVector.YES)
+    @Fields({
+            @Field(name = "nameFiltered", termVector = TermVector.YES),
+            @Field(name = "nameNgram", analyzer = @Analyzer(definition = "ngramAnalyzer"))
+    })
     @Column(name = "name", nullable = false)
     private String name;
 
-    @Field(name = "descriptionFiltered", termVector = TermVector.YES)
+    @Fields({
+            @Field(name = "descriptionFiltered", termVector = TermVector.YES),
+            @Field(name = "descriptionNgram", analyzer = @Analyzer(definition = "ngramAnalyzer"))
+    })
     @Column(name = "description", nullable = false)
     private String description;
 
+    @Field(name = "availableFiltered", analyze = Analyze.NO)
     @Column(name = "available", nullable = false)
     private Boolean available;
 
@@ -53,4 +85,7 @@ public class Item {
 
     @Column(name = "request")
     private Integer request;
+
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
 }
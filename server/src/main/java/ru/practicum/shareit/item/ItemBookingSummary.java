@@ -0,0 +1,49 @@
+package ru.practicum.shareit.item;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Последнее и ближайшее подтвержденные бронирования предмета, сохраненные вместе с предметом,
+ * чтобы карточка предмета строилась без выборки по таблице бронирований.
+ * Строка обновляется при смене статуса бронирований предмета; когда ближайшее бронирование начинается
+ * (next_start в прошлом), строку пересчитывает ItemBookingSummaryService.rolloverSummaries.
+ */
+@Entity
+@Table(name = "item_booking_summary", schema = "public")
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemBookingSummary {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "last_booking_id")
+    private Long lastBookingId;
+
+    @Column(name = "last_booker_id")
+    private Long lastBookerId;
+
+    @Column(name = "last_start")
+    private LocalDateTime lastStart;
+
+    @Column(name = "last_end")
+    private LocalDateTime lastEnd;
+
+    @Column(name = "next_booking_id")
+    private Long nextBookingId;
+
+    @Column(name = "next_booker_id")
+    private Long nextBookerId;
+
+    @Column(name = "next_start")
+    private LocalDateTime nextStart;
+
+    @Column(name = "next_end")
+    private LocalDateTime nextEnd;
+}
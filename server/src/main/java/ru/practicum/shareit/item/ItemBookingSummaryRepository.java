@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.LastNextBookingProjection;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s " +
+            "from ItemBookingSummary s " +
+            "where s.itemId = :itemId")
+    Optional<ItemBookingSummary> getSummaryForUpdate(@Param("itemId") Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s " +
+            "from ItemBookingSummary s " +
+            "where s.itemId in :itemIds " +
+            "order by s.itemId asc")
+    List<ItemBookingSummary> getSummariesForUpdate(@Param("itemIds") Collection<Long> itemIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s " +
+            "from ItemBookingSummary s " +
+            "where s.nextStart <= :current " +
+            "order by s.nextStart asc")
+    List<ItemBookingSummary> getSummariesToRollover(@Param("current") LocalDateTime current, Pageable pageable);
+
+    /**
+     * Последнее (start < current) и ближайшее (start > current) бронирования с заданным статусом
+     * для каждого из предметов, без проверки владельца.
+     */
+    @Query(value = "select nb.item_id as \"itemId\", " +
+            "nb.booking_id as \"id\", " +
+            "nb.booker_id as \"bookerId\", " +
+            "nb.start_time as \"start\", " +
+            "nb.end_time as \"end\" " +
+            "from (select b.item_id, b.booking_id, b.booker_id, b.start_time, b.end_time, " +
+            "row_number() over (partition by b.item_id, b.start_time < :current " +
+            "order by case when b.start_time < :current then b.start_time end desc, b.start_time asc) as rn " +
+            "from booking b " +
+            "where b.item_id in (:itemIds) " +
+            "and b.status = :#{#status.ordinal()} " +
+            "and b.start_time <> :current) nb " +
+            "where nb.rn = 1",
+            nativeQuery = true)
+    List<LastNextBookingProjection> getLastAndNextBookings(@Param("itemIds") Collection<Long> itemIds,
+                                                           @Param("current") LocalDateTime current,
+                                                           @Param("status") BookingStatus status);
+}
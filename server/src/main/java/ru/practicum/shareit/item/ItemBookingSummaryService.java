@@ -0,0 +1,181 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Ведение сводки бронирований предметов (ItemBookingSummary).
+ * <p>
+ * Сводка пересчитывается по подтвержденным бронированиям при каждом подтверждении бронирования и при снятии
+ * подтверждения; строка сводки блокируется на время пересчета, поэтому параллельные изменения бронирований
+ * одного предмета не перезаписывают результаты друг друга. Смена последнего и ближайшего бронирования
+ * с течением времени выполняется периодически в rolloverSummaries, а не при чтении.
+ */
+@Slf4j
+@Service
+public class ItemBookingSummaryService {
+
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${shareit.booking.summary.rollover-batch-size:500}")
+    private int rolloverBatchSize;
+
+    public ItemBookingSummaryService(ItemBookingSummaryRepository summaryRepository,
+                                     EntityManager em,
+                                     PlatformTransactionManager transactionManager) {
+        this.summaryRepository = summaryRepository;
+        this.em = em;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Пустая сводка нового предмета: у него еще нет бронирований.
+     */
+    @Transactional
+    public void createSummary(Long itemId) {
+        createSummaries(List.of(itemId));
+    }
+
+    /**
+     * Пустые сводки новых предметов. Сводки сохраняются через persist, а не через save (merge),
+     * чтобы не выполнять лишний select перед каждой вставкой.
+     */
+    @Transactional
+    public void createSummaries(Collection<Long> itemIds) {
+        for (Long itemId : itemIds) {
+            em.persist(ItemBookingSummary.builder()
+                    .itemId(itemId)
+                    .build());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ItemBookingSummary getSummary(Long itemId) {
+        return getSummaries(List.of(itemId)).get(itemId);
+    }
+
+    /**
+     * Сводки предметов по ID. Для предметов без строки сводки (добавленных в обход сервиса) сводка вычисляется
+     * по бронированиям на текущий момент и не сохраняется.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, ItemBookingSummary> getSummaries(Collection<Long> itemIds) {
+        Map<Long, ItemBookingSummary> result = summaryRepository.findAllById(itemIds)
+                .stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, summary -> summary));
+
+        List<Long> missingIds = itemIds.stream()
+                .filter(itemId -> !result.containsKey(itemId))
+                .collect(Collectors.toList());
+
+        if (!missingIds.isEmpty()) {
+            result.putAll(computeSummaries(missingIds, LocalDateTime.now()));
+        }
+        return result;
+    }
+
+    /**
+     * Пересчет сводки предмета после смены статуса одного из его бронирований
+     * (в транзакции, изменившей бронирование).
+     */
+    @Transactional
+    public void refreshSummary(Long itemId) {
+        summaryRepository.getSummaryForUpdate(itemId);
+        summaryRepository.save(computeSummaries(List.of(itemId), LocalDateTime.now()).get(itemId));
+    }
+
+    /**
+     * Пересчет сводок нескольких предметов (загрузка истории бронирований). Строки блокируются в порядке item_id,
+     * чтобы параллельные пересчеты пересекающихся наборов предметов не взаимоблокировались.
+     */
+    @Transactional
+    public void refreshSummaries(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+
+        summaryRepository.getSummariesForUpdate(itemIds);
+        summaryRepository.saveAll(computeSummaries(itemIds, LocalDateTime.now()).values());
+    }
+
+    /**
+     * Пересчет сводок, у которых ближайшее бронирование уже началось: оно становится последним,
+     * а ближайшим - следующее подтвержденное бронирование. Сводки обрабатываются пакетами в отдельных транзакциях.
+     */
+    @Scheduled(fixedDelayString = "${shareit.booking.summary.rollover-delay-ms:60000}",
+            initialDelayString = "${shareit.booking.summary.rollover-delay-ms:60000}")
+    public void rolloverSummaries() {
+        long count = 0L;
+        while (true) {
+            Integer batchSize = transactionTemplate.execute(status -> rolloverBatch(LocalDateTime.now()));
+
+            if (batchSize == null || batchSize == 0) {
+                break;
+            }
+
+            count += batchSize;
+            if (batchSize < rolloverBatchSize) {
+                break;
+            }
+        }
+
+        if (count > 0) {
+            log.info("Пересчитано {} сводок бронирований предметов", count);
+        }
+    }
+
+    private int rolloverBatch(LocalDateTime current) {
+        List<Long> itemIds = summaryRepository.getSummariesToRollover(current, PageRequest.of(0, rolloverBatchSize))
+                .stream()
+                .map(ItemBookingSummary::getItemId)
+                .collect(Collectors.toList());
+
+        if (!itemIds.isEmpty()) {
+            summaryRepository.saveAll(computeSummaries(itemIds, current).values());
+        }
+        return itemIds.size();
+    }
+
+    private Map<Long, ItemBookingSummary> computeSummaries(Collection<Long> itemIds, LocalDateTime current) {
+        Map<Long, ItemBookingSummary> result = new HashMap<>();
+        for (Long itemId : itemIds) {
+            result.put(itemId, ItemBookingSummary.builder()
+                    .itemId(itemId)
+                    .build());
+        }
+
+        for (var booking : summaryRepository.getLastAndNextBookings(itemIds, current, BookingStatus.APPROVED)) {
+            ItemBookingSummary summary = result.get(booking.getItemId());
+
+            if (booking.getStart().isBefore(current)) {
+                summary.setLastBookingId(booking.getId());
+                summary.setLastBookerId(booking.getBookerId());
+                summary.setLastStart(booking.getStart());
+                summary.setLastEnd(booking.getEnd());
+            } else {
+                summary.setNextBookingId(booking.getId());
+                summary.setNextBookerId(booking.getBookerId());
+                summary.setNextStart(booking.getStart());
+                summary.setNextEnd(booking.getEnd());
+            }
+        }
+        return result;
+    }
+}
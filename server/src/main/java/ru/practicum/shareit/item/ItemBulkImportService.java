@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.bulkimport.BulkImportExecutor;
+import ru.practicum.shareit.bulkimport.BulkImportResultDto;
+import ru.practicum.shareit.bulkimport.ImportLine;
+import ru.practicum.shareit.exceptions.ApiErrorException;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Массовое создание предметов одного владельца из потока NDJSON (по одному ItemDto в строке).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemBulkImportService {
+
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final BulkImportExecutor bulkImportExecutor;
+
+    public BulkImportResultDto importItems(InputStream input, Long ownerId) {
+        if (ownerId == null || !userRepository.existsUserById(ownerId)) {
+            String msg = "Пользователь с ID = " + ownerId + " не найден в базе данных";
+            log.error(msg);
+            throw new ApiErrorException(HttpStatus.NOT_FOUND, msg);
+        }
+
+        return bulkImportExecutor.importNdjson(input, ItemDto.class, (lines, result) -> {
+            User owner = userRepository.getReferenceById(ownerId);
+            List<Item> items = new ArrayList<>(lines.size());
+
+            for (ImportLine<ItemDto> line : lines) {
+                String error = validate(line.getValue());
+                if (error != null) {
+                    result.reject(line.getLineNumber(), error);
+                    continue;
+                }
+
+                Item item = ItemMapper.fromDto(line.getValue());
+                item.setId(null);
+                item.setUser(owner);
+                items.add(item);
+            }
+
+            itemRepository.saveAll(items);
+            itemBookingSummaryService.createSummaries(items.stream()
+                    .map(Item::getId)
+                    .collect(Collectors.toList()));
+
+            return items.size();
+        });
+    }
+
+    private static String validate(ItemDto itemDto) {
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            return "Название предмета не может быть пустым или равно null";
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            return "Описание предмета не может быть пустым или равно null";
+        }
+        if (itemDto.getAvailable() == null) {
+            return "Доступность предмета не может быть null";
+        }
+        return null;
+    }
+}
@@ -2,10 +2,13 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.bulkimport.BulkImportResultDto;
 import ru.practicum.shareit.comments.CommentsDto;
 import ru.practicum.shareit.comments.CommentsService;
 
+import java.io.InputStream;
 import java.util.List;
 
 @Slf4j
@@ -15,6 +18,7 @@ import java.util.List;
 public class ItemController {
     private final ItemService itemService;
     private final CommentsService commentsService;
+    private final ItemBulkImportService itemBulkImportService;
 
     @PostMapping
     public ItemDto createItem(@RequestBody ItemDto itemDto,
@@ -23,6 +27,13 @@ public class ItemController {
         return itemService.createItem(itemDto, ownerId);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public BulkImportResultDto createItems(InputStream input,
+                                           @RequestHeader(value = "X-Sharer-User-Id", required = false) Long ownerId) {
+        log.info("Запрос на массовое создание предметов пользователя с ID={}", ownerId);
+        return itemBulkImportService.importItems(input, ownerId);
+    }
+
     @PostMapping(value = "/{itemId}/comment")
     public CommentsDto createComment(@RequestBody CommentsDto commentsDto,
                                      @RequestHeader(value = "X-Sharer-User-Id", required = false) Long authorId,
@@ -55,8 +66,10 @@ public class ItemController {
 
     @GetMapping("/search")
     public List<ItemDto> searchItem(@RequestParam(name = "text") String searchString,
-                                    @RequestHeader(value = "X-Sharer-User-Id", required = false) Long ownerId) {
+                                    @RequestHeader(value = "X-Sharer-User-Id", required = false) Long ownerId,
+                                    @RequestParam(value = "from", required = false, defaultValue = 0 + "") Integer from,
+                                    @RequestParam(value = "size", required = false, defaultValue = Integer.MAX_VALUE + "") Integer size) {
         log.info("Запрос на поиск предметов со строкой поиска '{}'", searchString);
-        return itemService.getSearchedItems(searchString);
+        return itemService.getSearchedItems(searchString, from, size);
     }
 }
@@ -1,11 +1,9 @@
 package ru.practicum.shareit.item;
 
-import ru.practicum.shareit.booking.Booking;
-import ru.practicum.shareit.booking.LastNextBookingMapper;
+import ru.practicum.shareit.booking.LastNextBookingDto;
 import ru.practicum.shareit.comments.Comments;
 import ru.practicum.shareit.comments.CommentsMapper;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -33,29 +31,21 @@ public class ItemMapper {
                 .collect(Collectors.toList());
     }
 
-    public static OutItemDto toDto(Item item, Booking lastBooking, Booking nextBooking, List<Comments> commentsList) {
+    public static OutItemDto toDto(Item item, ItemBookingSummary bookingSummary, List<Comments> commentsList) {
         if (item == null) {
             return null;
         }
 
-        var result = OutItemDto.builder()
-                                .id(item.getId())
-                                .name(item.getName())
-                                .description(item.getDescription())
-                                .available(item.getAvailable())
-                                .request(item.getRequest())
-                                .lastBooking(LastNextBookingMapper.toDto(lastBooking))
-                                .nextBooking(LastNextBookingMapper.toDto(nextBooking))
-                                .comments(new ArrayList<>())
-                                .build();
-
-        if (commentsList != null) {
-            result.setComments(commentsList.stream()
-                    .map(CommentsMapper::toDto)
-                    .collect(Collectors.toList()));
-        }
-
-        return result;
+        return OutItemDto.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .request(item.getRequest())
+                .lastBooking(toLastBookingDto(bookingSummary))
+                .nextBooking(toNextBookingDto(bookingSummary))
+                .comments(CommentsMapper.toDto(commentsList))
+                .build();
     }
 
     public static Item fromDto(ItemDto itemDto) {
@@ -67,4 +57,28 @@ public class ItemMapper {
                 .request(itemDto.getRequestId())
                 .build();
     }
+
+    private static LastNextBookingDto toLastBookingDto(ItemBookingSummary bookingSummary) {
+        if (bookingSummary == null || bookingSummary.getLastBookingId() == null) {
+            return null;
+        }
+        return LastNextBookingDto.builder()
+                .id(bookingSummary.getLastBookingId())
+                .bookerId(bookingSummary.getLastBookerId())
+                .start(bookingSummary.getLastStart())
+                .end(bookingSummary.getLastEnd())
+                .build();
+    }
+
+    private static LastNextBookingDto toNextBookingDto(ItemBookingSummary bookingSummary) {
+        if (bookingSummary == null || bookingSummary.getNextBookingId() == null) {
+            return null;
+        }
+        return LastNextBookingDto.builder()
+                .id(bookingSummary.getNextBookingId())
+                .bookerId(bookingSummary.getNextBookerId())
+                .start(bookingSummary.getNextStart())
+                .end(bookingSummary.getNextEnd())
+                .build();
+    }
 }
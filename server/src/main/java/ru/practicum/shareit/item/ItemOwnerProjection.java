@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item;
+
+public interface ItemOwnerProjection {
+    Long getItemId();
+
+    Long getOwnerId();
+}
@@ -1,24 +1,38 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import ru.practicum.shareit.booking.Booking;
-import ru.practicum.shareit.booking.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    Optional<Item> getItemById(Long id);
+    /**
+     * Поиск через findById (EntityManager.find), чтобы запрос обслуживался из кэша второго уровня.
+     */
+    default Optional<Item> getItemById(Long id) {
+        return findById(id);
+    }
 
     List<Item> getItemsByUser_IdOrderByIdAsc(@Param("ownerId") Long ownerId);
 
+    @Query("select i.id " +
+            "from Item i " +
+            "where i.user.id = :ownerId")
+    List<Long> getItemIdsByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("select i.id as itemId, i.user.id as ownerId " +
+            "from Item i " +
+            "where i.id in :itemIds")
+    List<ItemOwnerProjection> getItemOwners(@Param("itemIds") Collection<Long> itemIds);
+
     @Query("select i " +
             "from Item i " +
             "where (lower(i.description) like %:searchString% " +
@@ -27,40 +41,37 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     )
     List<Item> searchItemsByDescriptionOrName(@Param("searchString") String searchString);
 
+    @Query("select i " +
+            "from Item i " +
+            "where (lower(i.description) like %:searchString% " +
+            "or lower(i.name) like  %:searchString%) " +
+            "and i.available is true " +
+            "order by i.id"
+    )
+    Slice<Item> searchItemsByDescriptionOrName(@Param("searchString") String searchString, Pageable pageable);
+
+    /**
+     * Массовое JPQL-обновление: Hibernate не знает, какие строки изменились, поэтому при фиксации транзакции
+     * из кэша второго уровня удаляется весь регион Item, а не только обновленный предмет. До фиксации
+     * регион не очищается, поэтому для чтения в той же транзакции предмет нужно вытеснить из кэша явно.
+     */
     @Modifying(clearAutomatically = true)
     @Query("update Item i " +
             "set i.name    = COALESCE(CAST(:#{#newItem.name}  as string), i.name), " +
             "i.description = COALESCE(CAST(:#{#newItem.description}  as string), i.description), " +
             "i.available   = COALESCE(CAST(CAST(:#{#newItem.available} as string) as boolean), i.available), " +
             "i.user        = COALESCE(:#{#newItem.user}, i.user), " +
-            "i.request     = :#{#newItem.request} " +
+            "i.request     = :#{#newItem.request}, " +
+            "i.updatedAt   = CURRENT_TIMESTAMP " +
             "where i.id    = :#{#newItem.id}")
     void updateItem(@Param("newItem") Item newItem);
 
-    @Query("select b " +
-            "from Booking b " +
-            "where b.item.id = :itemId " +
-            "and b.item.user.id = :userId " +
-            "and b.start < :current " +
-            "and b.status = :status " +
-            "order by b.start desc "
-    )
-    Page<Booking> getLastBooking(@Param("itemId") Long itemId,
-                                 @Param("userId") Long userId,
-                                 @Param("current")LocalDateTime current,
-                                 @Param("status")BookingStatus status,
-                                 Pageable pageable);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where b.item.id = :itemId " +
-            "and b.item.user.id = :userId " +
-            "and b.start > :current " +
-            "and b.status = :status " +
-            "order by b.start asc")
-    Page<Booking> getNextBooking(@Param("itemId") Long itemId,
-                                 @Param("userId") Long userId,
-                                 @Param("current")LocalDateTime current,
-                                 @Param("status")BookingStatus status,
-                                 Pageable pageable);
+    @Query("select i " +
+            "from Item i " +
+            "where i.updatedAt > :since " +
+            "and i.id > :lastId " +
+            "order by i.id asc")
+    List<Item> getItemsChangedAfter(@Param("since") LocalDateTime since,
+                                    @Param("lastId") Long lastId,
+                                    Pageable pageable);
 }
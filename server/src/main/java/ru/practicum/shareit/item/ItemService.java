@@ -12,4 +12,6 @@ public interface ItemService {
     List<OutItemDto> getItemsByOwnerId(Long ownerId);
 
     List<ItemDto> getSearchedItems(String searchString);
+
+    List<ItemDto> getSearchedItems(String searchString, Integer from, Integer size);
 }
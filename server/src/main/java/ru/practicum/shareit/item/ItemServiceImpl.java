@@ -3,19 +3,24 @@ package ru.practicum.shareit.item;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.booking.BookingStatus;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.comments.Comments;
 import ru.practicum.shareit.comments.CommentsRepository;
 import ru.practicum.shareit.exceptions.ApiErrorException;
+import ru.practicum.shareit.searchservices.ItemSearchService;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
-import javax.transaction.Transactional;
-import java.time.LocalDateTime;
+import javax.persistence.EntityManager;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -26,6 +31,10 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final CommentsRepository commentsRepository;
+    private final ItemSearchService itemSearchService;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final BookingRepository bookingRepository;
+    private final EntityManager entityManager;
 
     @Override
     public ItemDto createItem(ItemDto itemDto, Long ownerId) {
@@ -35,25 +44,24 @@ public class ItemServiceImpl implements ItemService {
 
         newItem.setUser(ownerUser);
 
-        return ItemMapper.toDto(itemRepository.save(newItem));
+        Item savedItem = itemRepository.save(newItem);
+        itemBookingSummaryService.createSummary(savedItem.getId());
+
+        return ItemMapper.toDto(savedItem);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public OutItemDto getItem(Long itemId, Long userId) {
         Item item = getItemById(itemId);
+        boolean isOwner = item.getUser().getId().equals(userId);
 
-        var lastBooking = itemRepository.getLastBooking(itemId, userId, LocalDateTime.now(),
-                BookingStatus.APPROVED, PageRequest.of(0,1));
-        var nextBooking = itemRepository.getNextBooking(itemId, userId, LocalDateTime.now(),
-                BookingStatus.APPROVED, PageRequest.of(0,1));
+        var bookingSummary = isOwner ? itemBookingSummaryService.getSummary(itemId) : null;
 
-        var commentsList = item.getUser().getId().equals(userId) ? commentsRepository.findCommentsByItem_Id(itemId) :
+        var commentsList = isOwner ? commentsRepository.findCommentsByItem_Id(itemId) :
                 commentsRepository.findCommentsByItem_IdAndAuthor_Id(itemId, userId);
 
-        return ItemMapper.toDto(item,
-                (lastBooking == null || lastBooking.isEmpty()) ? null : lastBooking.getContent().get(0),
-                (nextBooking == null || nextBooking.isEmpty()) ? null : nextBooking.getContent().get(0),
-                commentsList);
+        return ItemMapper.toDto(item, bookingSummary, commentsList);
     }
 
     @Override
@@ -63,39 +71,72 @@ public class ItemServiceImpl implements ItemService {
         itemForUpdate.setUser(getOwnerById(ownerId));
 
         itemRepository.updateItem(itemForUpdate);
+        // Регион Item очищается только при фиксации транзакции, без вытеснения ниже getItemById
+        // вернул бы из кэша второго уровня предмет в версии до обновления
+        entityManager.getEntityManagerFactory().getCache().evict(Item.class, itemId);
+        // updateItem назначает предмету владельца ownerId, копия владельца в бронированиях должна совпадать
+        bookingRepository.updateOwnerByItemId(itemId, ownerId);
 
         return ItemMapper.toDto(getItemById(itemId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OutItemDto> getItemsByOwnerId(Long ownerId) {
         var itemList = itemRepository.getItemsByUser_IdOrderByIdAsc(ownerId);
 
         List<OutItemDto> itemDtoList = new ArrayList<>();
 
-        for (Item item : itemList) {
-            var lastBooking = itemRepository.getLastBooking(item.getId(), ownerId, LocalDateTime.now(),
-                    BookingStatus.APPROVED, PageRequest.of(0,1));
-            var nextBooking = itemRepository.getNextBooking(item.getId(), ownerId, LocalDateTime.now(),
-                    BookingStatus.APPROVED, PageRequest.of(0,1));
-            var commentsList = commentsRepository.findCommentsByItem_IdAndAuthor_Id(item.getId(), ownerId);
+        if (itemList.isEmpty()) {
+            return itemDtoList;
+        }
+
+        var itemIds = itemList.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
 
+        Map<Long, ItemBookingSummary> bookingSummaries = itemBookingSummaryService.getSummaries(itemIds);
+
+        Map<Long, List<Comments>> commentsByItem = commentsRepository.findCommentsByItem_IdInAndAuthor_Id(itemIds, ownerId)
+                .stream()
+                .collect(Collectors.groupingBy(comments -> comments.getItem().getId()));
+
+        for (Item item : itemList) {
             itemDtoList.add(ItemMapper.toDto(item,
-                    (lastBooking == null || lastBooking.isEmpty()) ? null : lastBooking.getContent().get(0),
-                    (nextBooking == null || nextBooking.isEmpty()) ? null : nextBooking.getContent().get(0),
-                    commentsList)
+                    bookingSummaries.get(item.getId()),
+                    commentsByItem.get(item.getId()))
             );
         }
         return itemDtoList;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> getSearchedItems(String searchString) {
+        return searchItems(searchString, Pageable.unpaged());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemDto> getSearchedItems(String searchString, Integer from, Integer size) {
+        return searchItems(searchString, PageRequest.of(from / size, size));
+    }
+
+    /**
+     * Поиск по индексу и через базу данных получает одну и ту же страницу: номер страницы from / size,
+     * предметы упорядочены по id.
+     */
+    private List<ItemDto> searchItems(String searchString, Pageable pageable) {
         if (searchString.isEmpty()) {
             return Collections.emptyList();
         }
 
-        return ItemMapper.toDto(itemRepository.searchItemsByDescriptionOrName(searchString.toLowerCase()));
+        if (itemSearchService.isEnabled()) {
+            return ItemMapper.toDto(itemSearchService.searchAvailableItems(searchString, pageable));
+        }
+
+        return ItemMapper.toDto(itemRepository.searchItemsByDescriptionOrName(searchString.toLowerCase(),
+                pageable).toList());
     }
 
     private User getOwnerById(Long ownerId) {
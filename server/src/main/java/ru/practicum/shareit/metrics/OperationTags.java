@@ -0,0 +1,98 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.exceptions.ApiErrorException;
+
+/**
+ * Теги state, role и outcome метрик вызовов сервисов и репозиториев.
+ * <p>
+ * state и role берутся из параметра вызова, реализующего {@link Tagged} (например, BookingQuery).
+ * Теги вызова репозитория определяются по его параметрам, а теги текущей операции сервиса (ServiceMetricsAspect)
+ * задает сам сервис через {@link #tagCurrent}, когда они становятся известны.
+ */
+public final class OperationTags {
+    public static final String NONE = "none";
+
+    public static final String OK = "ok";
+
+    private static final ThreadLocal<OperationTags> CURRENT = new ThreadLocal<>();
+
+    private String state = NONE;
+
+    private String role = NONE;
+
+    private OperationTags() {
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    /**
+     * Начинает операцию в текущем потоке.
+     *
+     * @return операция, выполнявшаяся до нее (вложенный вызов сервиса), - передается в {@link #close}
+     */
+    @Nullable
+    static OperationTags open() {
+        OperationTags previous = CURRENT.get();
+        CURRENT.set(new OperationTags());
+        return previous;
+    }
+
+    static OperationTags current() {
+        return CURRENT.get();
+    }
+
+    static void close(@Nullable OperationTags previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Теги state и role текущей операции сервиса. Вне операции (метрики отключены) ничего не делает.
+     */
+    public static void tagCurrent(Tagged source) {
+        OperationTags current = CURRENT.get();
+        if (current != null) {
+            current.state = source.getStateTag();
+            current.role = source.getRoleTag();
+        }
+    }
+
+    /**
+     * Теги первого параметра вызова, реализующего Tagged, иначе null.
+     */
+    @Nullable
+    public static OperationTags fromArguments(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof Tagged) {
+                OperationTags tags = new OperationTags();
+                tags.state = ((Tagged) argument).getStateTag();
+                tags.role = ((Tagged) argument).getRoleTag();
+                return tags;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * ok для успешного вызова, код статуса для ApiErrorException, иначе имя класса исключения.
+     */
+    public static String outcome(@Nullable Throwable error) {
+        if (error == null) {
+            return OK;
+        }
+        if (error instanceof ApiErrorException) {
+            return String.valueOf(((ApiErrorException) error).getStatusCode().value());
+        }
+        return error.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Data;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Таймер shareit.service.call для каждого публичного метода *ServiceImpl с тегами service, method, state, role
+ * и outcome (см. OperationTags).
+ * <p>
+ * Аспект выполняется раньше транзакции (HIGHEST_PRECEDENCE), поэтому время включает фиксацию транзакции,
+ * а ошибка при фиксации попадает в outcome. Таймеры создаются один раз на набор тегов и берутся из кэша.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(value = "shareit.metrics.instrumentation.enabled", matchIfMissing = true)
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<CallKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * ru.practicum.shareit..*ServiceImpl.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        OperationTags previous = OperationTags.open();
+        long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            long duration = System.nanoTime() - start;
+            OperationTags tags = OperationTags.current();
+            OperationTags.close(previous);
+
+            CallKey key = new CallKey(joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                    joinPoint.getSignature().getName(), tags.getState(), tags.getRole(), OperationTags.outcome(error));
+            timers.computeIfAbsent(key, this::createTimer).record(duration, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer createTimer(CallKey key) {
+        return Timer.builder("shareit.service.call")
+                .description("Время вызова метода сервиса")
+                .tag("service", key.getService())
+                .tag("method", key.getMethod())
+                .tag("state", key.getState())
+                .tag("role", key.getRole())
+                .tag("outcome", key.getOutcome())
+                .register(meterRegistry);
+    }
+
+    @Data
+    private static class CallKey {
+        private final String service;
+        private final String method;
+        private final String state;
+        private final String role;
+        private final String outcome;
+    }
+}
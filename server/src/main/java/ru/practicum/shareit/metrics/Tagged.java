@@ -0,0 +1,11 @@
+package ru.practicum.shareit.metrics;
+
+/**
+ * Параметр вызова репозитория, задающий теги state и role его метрик (например, BookingQuery).
+ */
+public interface Tagged {
+
+    String getStateTag();
+
+    String getRoleTag();
+}
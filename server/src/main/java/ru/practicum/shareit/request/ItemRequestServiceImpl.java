@@ -2,24 +2,19 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.lucene.search.Query;
-import org.hibernate.search.jpa.FullTextEntityManager;
-import org.hibernate.search.jpa.FullTextQuery;
-import org.hibernate.search.jpa.Search;
-import org.hibernate.search.query.dsl.QueryBuilder;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.ApiErrorException;
-import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.searchservices.ItemSearchService;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
-import javax.persistence.EntityManager;
-import javax.transaction.Transactional;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -29,7 +24,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
-    private final EntityManager entityManager;
+    private final ItemSearchService itemSearchService;
 
     public ItemRequestDto createItemRequest(ItemRequestDto itemRequestDto, Long userId) {
         ItemRequest newItemRequest = ItemRequestMapper.fromDto(itemRequestDto);
@@ -41,6 +36,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return ItemRequestMapper.toDto(ret);
     }
 
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getAllItemRequestByUser(Long userId) {
         checkUserById(userId);
 
@@ -49,6 +45,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return fillItems(itemRequestList);
     }
 
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getPageItemRequestByUser(Long userId, Integer from, Integer size) {
         checkUserById(userId);
 
@@ -62,6 +59,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return fillItems(itemRequestList);
     }
 
+    @Transactional(readOnly = true)
     public ItemRequestDto getAllItemRequestByIdAndUser(Long requestId, Long userId) {
         if (requestId < 0) {
             throw sendErrorMessage(HttpStatus.BAD_REQUEST,
@@ -76,17 +74,26 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         checkUserById(userId);
 
         var ir = getItemRequestById(requestId);
-        var itemList = fullTextSearchItemByNameOrDescription(ir.getDescription());
+        var itemList = itemSearchService.searchItemsByNameOrDescription(List.of(ir.getDescription()));
 
-        return ItemRequestMapper.toDto(ir, itemList);
+        return ItemRequestMapper.toDto(ir, itemList.get(0));
     }
 
     private List<ItemRequestDto> fillItems(List<ItemRequest> itemRequestList) {
         List<ItemRequestDto> result = new ArrayList<>();
 
-        for (ItemRequest ir : itemRequestList) {
-            var itemList = fullTextSearchItemByNameOrDescription(ir.getDescription());
-            result.add(ItemRequestMapper.toDto(ir, itemList));
+        if (itemRequestList.isEmpty()) {
+            return result;
+        }
+
+        var descriptions = itemRequestList.stream()
+                .map(ItemRequest::getDescription)
+                .collect(Collectors.toList());
+
+        var itemLists = itemSearchService.searchItemsByNameOrDescription(descriptions);
+
+        for (int i = 0; i < itemRequestList.size(); i++) {
+            result.add(ItemRequestMapper.toDto(itemRequestList.get(i), itemLists.get(i)));
         }
 
         return result;
@@ -114,25 +121,4 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         log.error(msg);
         return new ApiErrorException(httpStatus, msg);
     }
-
-    public List<Item> fullTextSearchItemByNameOrDescription(String word) {
-        FullTextEntityManager fullTextEntityManager = Search.getFullTextEntityManager(entityManager);
-
-        QueryBuilder queryBuilder = fullTextEntityManager
-                .getSearchFactory()
-                .buildQueryBuilder()
-                .forEntity(Item.class)
-                .get();
-
-        Query itemQuery = queryBuilder
-                .keyword()
-                .onFields("descriptionFiltered", "nameFiltered")
-                .matching(word)
-                .createQuery();
-
-        FullTextQuery fullTextQuery = fullTextEntityManager.createFullTextQuery(itemQuery, Item.class);
-
-        return (List<Item>)fullTextQuery.getResultList();
-    }
-
 }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.searchservices;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "search_index_watermark", schema = "public")
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class IndexWatermark {
+    @Id
+    @Column(name = "index_name")
+    private String indexName;
+
+    @Column(name = "indexed_at", nullable = false)
+    private LocalDateTime indexedAt;
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.searchservices;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface IndexWatermarkRepository extends JpaRepository<IndexWatermark, String> {
+}
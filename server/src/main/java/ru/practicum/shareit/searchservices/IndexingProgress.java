@@ -0,0 +1,100 @@
+package ru.practicum.shareit.searchservices;
+
+import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Состояние и счетчики текущей (или последней) индексации.
+ * Передается в MassIndexer как монитор прогресса и отдается через actuator endpoint 'searchindex'.
+ */
+public class IndexingProgress implements MassIndexerProgressMonitor {
+
+    public enum State {
+        NOT_STARTED, FULL_REINDEX, INCREMENTAL_REINDEX, READY, FAILED
+    }
+
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong entitiesLoaded = new AtomicLong();
+    private final AtomicLong documentsBuilt = new AtomicLong();
+    private final AtomicLong documentsAdded = new AtomicLong();
+
+    private volatile State state = State.NOT_STARTED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile LocalDateTime watermark;
+    private volatile String error;
+
+    void start(State newState) {
+        totalCount.set(0);
+        entitiesLoaded.set(0);
+        documentsBuilt.set(0);
+        documentsAdded.set(0);
+        error = null;
+        finishedAt = null;
+        startedAt = LocalDateTime.now();
+        state = newState;
+    }
+
+    void finish(LocalDateTime newWatermark) {
+        watermark = newWatermark;
+        finishedAt = LocalDateTime.now();
+        state = State.READY;
+    }
+
+    void fail(Throwable e) {
+        error = e.getMessage();
+        finishedAt = LocalDateTime.now();
+        state = State.FAILED;
+    }
+
+    State getState() {
+        return state;
+    }
+
+    @Override
+    public void documentsAdded(long increment) {
+        documentsAdded.addAndGet(increment);
+    }
+
+    @Override
+    public void documentsBuilt(int number) {
+        documentsBuilt.addAndGet(number);
+    }
+
+    @Override
+    public void entitiesLoaded(int size) {
+        entitiesLoaded.addAndGet(size);
+    }
+
+    @Override
+    public void addToTotalCount(long count) {
+        totalCount.addAndGet(count);
+    }
+
+    @Override
+    public void indexingCompleted() {
+        // Завершение фиксируется в IndexingService вместе с новой отметкой
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        long total = totalCount.get();
+        long added = documentsAdded.get();
+
+        result.put("state", state);
+        result.put("totalCount", total);
+        result.put("entitiesLoaded", entitiesLoaded.get());
+        result.put("documentsBuilt", documentsBuilt.get());
+        result.put("documentsAdded", added);
+        result.put("percent", total == 0 ? 0 : Math.min(100, added * 100 / total));
+        result.put("startedAt", startedAt);
+        result.put("finishedAt", finishedAt);
+        result.put("watermark", watermark);
+        result.put("error", error);
+        return result;
+    }
+}
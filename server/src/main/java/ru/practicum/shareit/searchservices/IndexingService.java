@@ -1,26 +1,282 @@
 package ru.practicum.shareit.searchservices;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.search.jpa.FullTextEntityManager;
 import org.hibernate.search.jpa.Search;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
 
+import javax.annotation.PreDestroy;
 import javax.persistence.EntityManager;
-import javax.transaction.Transactional;
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Фоновая индексация предметов для полнотекстового поиска.
+ * При старте приложения индекс строится в отдельном потоке: полностью, если отметки прошлой индексации нет
+ * или индекс пуст, иначе переиндексируются только предметы, измененные после отметки.
+ * Пока индекс не готов, ItemSearchService выполняет поиск через базу данных.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class IndexingService {
+    private static final String ITEM_INDEX = "idx_item";
+    private static final LocalDateTime INITIAL_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
 
     private final EntityManager em;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ItemRepository itemRepository;
+    private final IndexWatermarkRepository watermarkRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "search-indexing"));
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final IndexingProgress progress = new IndexingProgress();
+
+    private volatile boolean indexReady;
+
+    @Value("${shareit.search.indexing.on-startup:true}")
+    private boolean indexOnStartup;
+
+    @Value("${shareit.search.indexing.batch-size-to-load-objects:100}")
+    private int batchSizeToLoadObjects;
+
+    @Value("${shareit.search.indexing.threads-to-load-objects:2}")
+    private int threadsToLoadObjects;
+
+    @Value("${shareit.search.indexing.watermark-overlap-seconds:60}")
+    private long watermarkOverlapSeconds;
+
+    public IndexingService(EntityManager em,
+                           EntityManagerFactory entityManagerFactory,
+                           ItemRepository itemRepository,
+                           IndexWatermarkRepository watermarkRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.em = em;
+        this.entityManagerFactory = entityManagerFactory;
+        this.itemRepository = itemRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isIndexReady() {
+        return indexReady;
+    }
+
+    public Map<String, Object> getProgress() {
+        Map<String, Object> result = progress.toMap();
+        result.put("indexReady", indexReady);
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (indexOnStartup) {
+            initiateIndexing();
+        }
+    }
+
+    /**
+     * Запуск индексации в фоновом потоке. Если индексация уже идет, возвращается уже завершенный future.
+     */
+    public CompletableFuture<Void> initiateIndexing() {
+        return submit(() -> {
+            var watermark = watermarkRepository.findById(ITEM_INDEX);
+
+            if (watermark.isEmpty() || getIndexedItemsCount() == 0) {
+                runFullIndexing();
+            } else {
+                runIncrementalIndexing(watermark.get().getIndexedAt());
+            }
+        });
+    }
+
+    /**
+     * Полная перестройка индекса в фоновом потоке. Перед перестройкой индекс очищается, поэтому до ее
+     * завершения индекс считается неготовым и ItemSearchService выполняет поиск через базу данных.
+     */
+    public CompletableFuture<Void> initiateFullIndexing() {
+        return submit(this::runFullIndexing);
+    }
+
+    /**
+     * Периодическая переиндексация предметов, измененных в обход Hibernate Search
+     * (например, через ItemRepository.updateItem). Удаленные предметы по updated_at не находятся,
+     * их документы удаляются из индекса через purgeItems.
+     */
+    @Scheduled(fixedDelayString = "${shareit.search.indexing.incremental-delay-ms:60000}",
+            initialDelayString = "${shareit.search.indexing.incremental-delay-ms:60000}")
+    public void reindexChangedItems() {
+        if (!indexReady) {
+            return;
+        }
+
+        submit(() -> runIncrementalIndexing(watermarkRepository.findById(ITEM_INDEX)
+                .map(IndexWatermark::getIndexedAt)
+                .orElse(INITIAL_WATERMARK)));
+    }
+
+    /**
+     * Удаление документов предметов из индекса, например перед каскадным удалением предметов в базе данных
+     * (ON DELETE CASCADE), которое Hibernate Search не отслеживает. Выполняется при фиксации текущей транзакции.
+     */
+    public void purgeItems(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
 
-    @Transactional
-    public void initiateIndexing() throws InterruptedException {
-        log.info("Начата индексация записей...");
         FullTextEntityManager fullTextEntityManager = Search.getFullTextEntityManager(em);
-        fullTextEntityManager.createIndexer().startAndWait();
+        for (Long itemId : itemIds) {
+            fullTextEntityManager.purge(Item.class, itemId);
+        }
+        log.debug("Из индекса удалено {} записей", itemIds.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<Void> submit(Runnable task) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Индексация уже выполняется, повторный запуск пропущен");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.runAsync(() -> {
+            try {
+                task.run();
+                indexReady = true;
+            } catch (RuntimeException e) {
+                progress.fail(e);
+                log.error("Ошибка индексации записей: {}", e.getMessage(), e);
+                throw e;
+            } finally {
+                running.set(false);
+            }
+        }, executor);
+    }
+
+    private void runFullIndexing() {
+        LocalDateTime startedAt = getDatabaseTime();
+
+        log.info("Начата полная индексация записей (batchSizeToLoadObjects={}, threadsToLoadObjects={})...",
+                batchSizeToLoadObjects, threadsToLoadObjects);
+        progress.start(IndexingProgress.State.FULL_REINDEX);
+        // MassIndexer очищает индекс перед загрузкой (purgeAllOnStart), поиск по нему до завершения неполон
+        indexReady = false;
+
+        // Поток индексации работает вне транзакции, поэтому общий EntityManager здесь недоступен:
+        // MassIndexer открывает свои сессии, ему нужен только отдельный EntityManager для доступа к индексу
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            Search.getFullTextEntityManager(entityManager)
+                    .createIndexer(Item.class)
+                    .batchSizeToLoadObjects(batchSizeToLoadObjects)
+                    .threadsToLoadObjects(threadsToLoadObjects)
+                    .progressMonitor(progress)
+                    .startAndWait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Индексация записей прервана", e);
+        } finally {
+            entityManager.close();
+        }
+
+        saveWatermark(startedAt);
         log.info("Все записи проиндексированы");
     }
+
+    private void runIncrementalIndexing(LocalDateTime watermark) {
+        LocalDateTime startedAt = getDatabaseTime();
+        LocalDateTime since = watermark.minusSeconds(watermarkOverlapSeconds);
+
+        log.debug("Начата переиндексация записей, измененных после {}", since);
+        progress.start(IndexingProgress.State.INCREMENTAL_REINDEX);
+
+        long lastId = 0L;
+        long count = 0L;
+        while (true) {
+            Long batchLastId = lastId;
+            List<Item> batch = transactionTemplate.execute(status -> indexBatch(since, batchLastId));
+
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+
+            lastId = batch.get(batch.size() - 1).getId();
+            count += batch.size();
+        }
+
+        saveWatermark(startedAt);
+        if (count > 0) {
+            log.info("Переиндексировано {} записей, измененных после {}", count, since);
+        }
+    }
+
+    private List<Item> indexBatch(LocalDateTime since, Long lastId) {
+        FullTextEntityManager fullTextEntityManager = Search.getFullTextEntityManager(em);
+
+        List<Item> batch = itemRepository.getItemsChangedAfter(since, lastId,
+                PageRequest.of(0, batchSizeToLoadObjects));
+
+        progress.addToTotalCount(batch.size());
+        for (Item item : batch) {
+            fullTextEntityManager.index(item);
+        }
+        fullTextEntityManager.flushToIndexes();
+        fullTextEntityManager.clear();
+        progress.documentsAdded(batch.size());
+
+        return batch;
+    }
+
+    private void saveWatermark(LocalDateTime indexedAt) {
+        transactionTemplate.executeWithoutResult(status -> watermarkRepository.save(IndexWatermark.builder()
+                .indexName(ITEM_INDEX)
+                .indexedAt(indexedAt)
+                .build()));
+        progress.finish(indexedAt);
+    }
+
+    private int getIndexedItemsCount() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return Search.getFullTextEntityManager(entityManager)
+                    .getSearchFactory()
+                    .getStatistics()
+                    .getNumberOfIndexedEntities(Item.class.getName());
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * Отметка берется по часам базы данных, так как updated_at заполняется через CURRENT_TIMESTAMP.
+     */
+    private LocalDateTime getDatabaseTime() {
+        Object value = transactionTemplate.execute(status -> em.createNativeQuery("select localtimestamp")
+                .getSingleResult());
+
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
 }
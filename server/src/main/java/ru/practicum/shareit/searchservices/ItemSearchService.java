@@ -0,0 +1,195 @@
+package ru.practicum.shareit.searchservices;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.hibernate.search.jpa.FullTextEntityManager;
+import org.hibernate.search.jpa.FullTextQuery;
+import org.hibernate.search.jpa.Search;
+import org.hibernate.search.query.dsl.BooleanJunction;
+import org.hibernate.search.exception.EmptyQueryException;
+import org.hibernate.search.indexes.IndexReaderAccessor;
+import org.hibernate.search.query.dsl.QueryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ItemSearchService {
+    private static final int MAX_GRAM_SIZE = 20;
+    // Идентификатор сущности хранится в документе в поле с именем свойства @Id
+    private static final String ID_FIELD = "id";
+    private static final String ID_SORT_FIELD = "idSort";
+
+    private final EntityManager em;
+    private final IndexingService indexingService;
+    private final ItemRepository itemRepository;
+
+    @Value("${shareit.search.full-text.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Полнотекстовый поиск доступен, если он включен в настройках и индекс уже построен.
+     */
+    public boolean isEnabled() {
+        return enabled && indexingService.isIndexReady();
+    }
+
+    /**
+     * Поиск доступных для бронирования предметов по подстроке в названии или описании.
+     * Каждое слово строки поиска должно встречаться в названии или описании предмета.
+     * Предметы упорядочены по id, как в ItemRepository.searchItemsByDescriptionOrName, поэтому
+     * страница результата не зависит от того, выполняется поиск по индексу или через базу данных.
+     */
+    public List<Item> searchAvailableItems(String searchString, Pageable pageable) {
+        List<String> tokens = tokenize(searchString);
+
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        FullTextEntityManager fullTextEntityManager = Search.getFullTextEntityManager(em);
+
+        QueryBuilder queryBuilder = fullTextEntityManager
+                .getSearchFactory()
+                .buildQueryBuilder()
+                .forEntity(Item.class)
+                .overridesForField("nameNgram", "ngramQueryAnalyzer")
+                .overridesForField("descriptionNgram", "ngramQueryAnalyzer")
+                .get();
+
+        BooleanJunction<?> itemQuery = queryBuilder.bool();
+
+        itemQuery.must(queryBuilder
+                .keyword()
+                .onField("availableFiltered")
+                .matching(true)
+                .createQuery());
+
+        for (String token : tokens) {
+            itemQuery.must(queryBuilder
+                    .keyword()
+                    .onFields("nameNgram", "descriptionNgram")
+                    .matching(token)
+                    .createQuery());
+        }
+
+        Query query = itemQuery.createQuery();
+        log.debug("Полнотекстовый поиск предметов: {}", query);
+
+        FullTextQuery fullTextQuery = fullTextEntityManager.createFullTextQuery(query, Item.class);
+        fullTextQuery.setSort(queryBuilder.sort().byField(ID_SORT_FIELD).createSort());
+        if (pageable.isPaged()) {
+            fullTextQuery.setFirstResult((int) pageable.getOffset());
+            fullTextQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        return (List<Item>) fullTextQuery.getResultList();
+    }
+
+    /**
+     * Поиск предметов по словам из нескольких строк (например, описаний запросов) за один проход:
+     * все запросы выполняются на одном IndexSearcher, найденные предметы загружаются одним findAllById.
+     * Результат i-го элемента соответствует i-й строке, порядок предметов - по релевантности.
+     */
+    public List<List<Item>> searchItemsByNameOrDescription(List<String> searchStrings) {
+        if (searchStrings.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        FullTextEntityManager fullTextEntityManager = Search.getFullTextEntityManager(em);
+
+        QueryBuilder queryBuilder = fullTextEntityManager
+                .getSearchFactory()
+                .buildQueryBuilder()
+                .forEntity(Item.class)
+                .get();
+
+        List<Set<Long>> idsByString = new ArrayList<>(searchStrings.size());
+        Set<Long> allIds = new HashSet<>();
+
+        IndexReaderAccessor readerAccessor = fullTextEntityManager.getSearchFactory().getIndexReaderAccessor();
+        IndexReader indexReader = readerAccessor.open(Item.class);
+        try {
+            IndexSearcher indexSearcher = new IndexSearcher(indexReader);
+            int maxHits = Math.max(1, indexReader.maxDoc());
+            Set<String> fieldsToLoad = Set.of(ID_FIELD);
+
+            for (String searchString : searchStrings) {
+                Set<Long> ids = new LinkedHashSet<>();
+
+                Query query = createNameOrDescriptionQuery(queryBuilder, searchString);
+                if (query != null) {
+                    for (ScoreDoc scoreDoc : indexSearcher.search(query, maxHits).scoreDocs) {
+                        Document document = indexSearcher.doc(scoreDoc.doc, fieldsToLoad);
+                        ids.add(Long.valueOf(document.get(ID_FIELD)));
+                    }
+                }
+
+                idsByString.add(ids);
+                allIds.addAll(ids);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ошибка чтения поискового индекса предметов", e);
+        } finally {
+            readerAccessor.close(indexReader);
+        }
+
+        Map<Long, Item> items = allIds.isEmpty() ? Collections.emptyMap() :
+                itemRepository.findAllById(allIds)
+                        .stream()
+                        .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return idsByString.stream()
+                .map(ids -> ids.stream()
+                        .map(items::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
+    private Query createNameOrDescriptionQuery(QueryBuilder queryBuilder, String searchString) {
+        try {
+            return queryBuilder
+                    .keyword()
+                    .onFields("descriptionFiltered", "nameFiltered")
+                    .matching(searchString)
+                    .createQuery();
+        } catch (EmptyQueryException e) {
+            log.debug("Строка поиска '{}' состоит только из стоп-слов", searchString);
+            return null;
+        }
+    }
+
+    private List<String> tokenize(String searchString) {
+        return Arrays.stream(searchString.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .map(token -> token.length() > MAX_GRAM_SIZE ? token.substring(0, MAX_GRAM_SIZE) : token)
+                .collect(Collectors.toList());
+    }
+}
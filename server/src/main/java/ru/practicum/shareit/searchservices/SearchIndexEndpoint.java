@@ -0,0 +1,34 @@
+package ru.practicum.shareit.searchservices;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint /actuator/searchindex: прогресс индексации (GET) и запуск полной переиндексации (POST).
+ */
+@Component
+@Endpoint(id = "searchindex")
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexEndpoint {
+
+    private final IndexingService indexingService;
+
+    @ReadOperation
+    public Map<String, Object> progress() {
+        return indexingService.getProgress();
+    }
+
+    @WriteOperation
+    public Map<String, Object> reindex() {
+        log.info("Запрос на полную переиндексацию записей");
+        indexingService.initiateFullIndexing();
+        return indexingService.getProgress();
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.api.trace.Tracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Добавляет в прокси каждого репозитория Spring Data перехватчик, выполняющий вызов метода
+ * в спане с именем вида UserRepository.getExistingIds. Спаны запросов JDBC становятся его дочерними.
+ */
+@Component
+public class RepositoryTracingPostProcessor implements BeanPostProcessor {
+
+    // Tracer создается при первом вызове репозитория, а не вместе с BeanPostProcessor
+    private final SingletonSupplier<Tracer> tracer;
+
+    public RepositoryTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+        this.tracer = SingletonSupplier.of(tracer::getObject);
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport) {
+            ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(interceptor(repositoryInformation.getRepositoryInterface()))));
+        }
+        return bean;
+    }
+
+    private MethodInterceptor interceptor(Class<?> repositoryInterface) {
+        String repository = repositoryInterface.getSimpleName() + ".";
+        return invocation -> Spans.inSpan(tracer.obtain(), repository + invocation.getMethod().getName(),
+                invocation::proceed);
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.api.trace.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Спан для каждого публичного метода *ServiceImpl (BookingServiceImpl.getAllBookingByOwner).
+ * Выполняется после ServiceMetricsAspect, но раньше транзакции: фиксация транзакции входит в спан.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ServiceTracingAspect {
+
+    private final Tracer tracer;
+
+    public ServiceTracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("execution(public * ru.practicum.shareit..*ServiceImpl.*(..))")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName() + "."
+                + joinPoint.getSignature().getName();
+        return Spans.inSpan(tracer, name, joinPoint::proceed);
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+
+/**
+ * Выполнение перехваченного вызова внутри спана: спан текущий на время вызова, исключение записывается в спан.
+ */
+final class Spans {
+
+    private Spans() {
+    }
+
+    interface Invocation {
+        Object proceed() throws Throwable;
+    }
+
+    static Object inSpan(Tracer tracer, String name, Invocation invocation) throws Throwable {
+        Span span = tracer.spanBuilder(name).startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
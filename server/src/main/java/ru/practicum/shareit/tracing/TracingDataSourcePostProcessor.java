@@ -0,0 +1,51 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.instrumentation.jdbc.datasource.OpenTelemetryDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Оборачивает основной DataSource (бин dataSource - пул HikariCP или ReplicaRoutingDataSource с репликами)
+ * в OpenTelemetryDataSource: каждый запрос JDBC выполняется в спане с текстом SQL без значений параметров.
+ * Обертка передает unwrap/isWrapperFor исходному соединению, поэтому PGConnection (COPY) и метрики пула доступны,
+ * а close - исходному DataSource, чтобы пул закрывался при остановке приложения.
+ */
+@Component
+public class TracingDataSourcePostProcessor implements BeanPostProcessor {
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final ObjectProvider<OpenTelemetry> openTelemetry;
+
+    public TracingDataSourcePostProcessor(ObjectProvider<OpenTelemetry> openTelemetry) {
+        this.openTelemetry = openTelemetry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource
+                && !(bean instanceof OpenTelemetryDataSource)) {
+            return new ClosableTracingDataSource((DataSource) bean, openTelemetry.getObject());
+        }
+        return bean;
+    }
+
+    private static class ClosableTracingDataSource extends OpenTelemetryDataSource implements AutoCloseable {
+        private final DataSource delegate;
+
+        ClosableTracingDataSource(DataSource delegate, OpenTelemetry openTelemetry) {
+            super(delegate, openTelemetry);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (delegate instanceof AutoCloseable) {
+                ((AutoCloseable) delegate).close();
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.bulkimport.BulkImportExecutor;
+import ru.practicum.shareit.bulkimport.BulkImportResultDto;
+import ru.practicum.shareit.bulkimport.ImportLine;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Массовое создание пользователей из потока NDJSON (по одному UserDto в строке).
+ * Пользователи с адресом электронной почты, который уже есть в базе данных или встречался раньше в потоке,
+ * отклоняются, чтобы нарушение ограничения Email_Unique не прерывало импорт.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserBulkImportService {
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+$");
+
+    private final UserRepository userRepository;
+    private final BulkImportExecutor bulkImportExecutor;
+
+    public BulkImportResultDto importUsers(InputStream input) {
+        Set<String> importedEmails = new HashSet<>();
+
+        return bulkImportExecutor.importNdjson(input, UserDto.class, (lines, result) -> {
+            Set<String> existingEmails = userRepository.getExistingEmails(lines.stream()
+                    .map(line -> line.getValue().getEmail())
+                    .filter(email -> email != null)
+                    .collect(Collectors.toSet()));
+
+            List<User> users = new ArrayList<>(lines.size());
+            for (ImportLine<UserDto> line : lines) {
+                UserDto userDto = line.getValue();
+
+                String error = validate(userDto);
+                if (error == null && (existingEmails.contains(userDto.getEmail())
+                        || !importedEmails.add(userDto.getEmail()))) {
+                    error = "Пользователь с адресом электронной почты " + userDto.getEmail() + " уже существует";
+                }
+
+                if (error != null) {
+                    result.reject(line.getLineNumber(), error);
+                    continue;
+                }
+
+                User user = UserMapper.fromDto(userDto);
+                user.setId(null);
+                users.add(user);
+            }
+
+            userRepository.saveAll(users);
+            return users.size();
+        });
+    }
+
+    private static String validate(UserDto userDto) {
+        if (userDto.getName() == null || userDto.getName().isBlank()) {
+            return "Имя пользователя не может быть пустым или равно null";
+        }
+        if (userDto.getEmail() == null || userDto.getEmail().isEmpty()) {
+            return "Проверьте правильность ввода адреса электронной почты: не может быть пустым или равен null";
+        }
+        if (!EMAIL.matcher(userDto.getEmail()).matches()) {
+            return "Проверьте правильность ввода адреса электронной почты";
+        }
+        return null;
+    }
+}
@@ -2,8 +2,11 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.bulkimport.BulkImportResultDto;
 
+import java.io.InputStream;
 import java.util.List;
 
 @Slf4j
@@ -13,6 +16,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserBulkImportService userBulkImportService;
 
     @GetMapping
     public List<UserDto> getUsersList() {
@@ -32,6 +36,12 @@ public class UserController {
         return userService.createUser(userDto);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public BulkImportResultDto createUsers(InputStream input) {
+        log.info("Запрос на массовое создание пользователей");
+        return userBulkImportService.importUsers(input);
+    }
+
     @PatchMapping("/{id}")
     public UserDto updateUser(@RequestBody UserDto userDto,
                               @PathVariable("id") Long userId) {
@@ -5,13 +5,20 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     void deleteUserById(Long userId);
 
-    Optional<User> getUserById(Long id);
+    /**
+     * Поиск через findById (EntityManager.find), чтобы запрос обслуживался из кэша второго уровня.
+     */
+    default Optional<User> getUserById(Long id) {
+        return findById(id);
+    }
 
     @Modifying(clearAutomatically = true)
     @Query("update User u " +
@@ -20,5 +27,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
             "where  u.id = :#{#newUser.id}")
     void updateUser(@Param("newUser") User newUser);
 
-    Boolean existsUserById(Long userId);
+    @Query("select u.email " +
+            "from User u " +
+            "where u.email in :emails")
+    Set<String> getExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select u.id " +
+            "from User u " +
+            "where u.id in :userIds")
+    Set<Long> getExistingIds(@Param("userIds") Collection<Long> userIds);
+
+    default Boolean existsUserById(Long userId) {
+        return findById(userId).isPresent();
+    }
 }
\ No newline at end of file
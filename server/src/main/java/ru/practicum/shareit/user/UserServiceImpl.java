@@ -4,9 +4,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.ApiErrorException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.searchservices.IndexingService;
 
-import javax.transaction.Transactional;
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
 import java.util.List;
 
 @Slf4j
@@ -16,8 +21,12 @@ import java.util.List;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final IndexingService indexingService;
+    private final EntityManager entityManager;
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDto> getUsersList() {
         return UserMapper.toDto(userRepository.findAll());
     }
@@ -30,7 +39,15 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public void deleteUser(Long userId) {
+        // Предметы пользователя удаляются каскадно в базе данных (ON DELETE CASCADE) в обход Hibernate,
+        // поэтому их документы нужно убрать из поискового индекса, а копии - из кэша второго уровня явно
+        List<Long> itemIds = itemRepository.getItemIdsByOwnerId(userId);
+        indexingService.purgeItems(itemIds);
+
         userRepository.deleteUserById(userId);
+
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        itemIds.forEach(itemId -> cache.evict(Item.class, itemId));
     }
 
     @Override
@@ -39,10 +56,14 @@ public class UserServiceImpl implements UserService {
         userForUpdate.setId(userId);
 
         userRepository.updateUser(userForUpdate);
+        // Регион User очищается только при фиксации транзакции, без вытеснения ниже пользователь
+        // загрузился бы из кэша второго уровня в версии до обновления
+        entityManager.getEntityManagerFactory().getCache().evict(User.class, userId);
         return UserMapper.toDto(userRepository.getReferenceById(userId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDto getUser(Long userId) {
         User user = userRepository.getUserById(userId).orElseThrow(() ->
                 sendErrorMessage(HttpStatus.NOT_FOUND,
@@ -0,0 +1,30 @@
+-- BookingRepository: выборки бронирований пользователя, упорядоченные по start_time
+CREATE INDEX IF NOT EXISTS booking_booker_start_idx
+    ON public.booking (booker_id, start_time DESC, booking_id DESC);
+
+CREATE INDEX IF NOT EXISTS booking_booker_status_start_idx
+    ON public.booking (booker_id, status, start_time DESC, booking_id DESC);
+
+-- BookingRepository: выборки бронирований владельца (join через item.owner),
+-- ItemRepository.getLastBooking/getNextBooking/getLastAndNextBookings
+CREATE INDEX IF NOT EXISTS booking_item_status_start_idx
+    ON public.booking (item_id, status, start_time);
+
+CREATE INDEX IF NOT EXISTS booking_item_start_idx
+    ON public.booking (item_id, start_time DESC, booking_id DESC);
+
+-- BookingRepository.getTopBookingByItem_IdAndBooker_IdAndEndBeforeOrderByEndDesc
+CREATE INDEX IF NOT EXISTS booking_item_booker_end_idx
+    ON public.booking (item_id, booker_id, end_time DESC);
+
+-- ItemRepository.getItemsByUser_IdOrderByIdAsc и все запросы с условием item.user.id
+CREATE INDEX IF NOT EXISTS item_owner_idx
+    ON public.item (owner, item_id);
+
+-- CommentsRepository.findCommentsByItem_Id / findCommentsByItem_IdAndAuthor_Id
+CREATE INDEX IF NOT EXISTS comments_item_author_idx
+    ON public.comments (item_id, author_id);
+
+-- ItemRequestRepository.getItemRequestByRequesterId / existsByRequesterId
+CREATE INDEX IF NOT EXISTS item_request_requester_idx
+    ON public.item_request (requester_id);
@@ -0,0 +1,14 @@
+-- Время последнего изменения предмета: по нему IndexingService находит записи,
+-- которые нужно переиндексировать после отметки (watermark) прошлой индексации
+ALTER TABLE public.item
+    ADD COLUMN IF NOT EXISTS updated_at timestamp without time zone NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS item_updated_at_idx
+    ON public.item (updated_at, item_id);
+
+-- Отметка последней успешной индексации по каждому индексу Hibernate Search
+CREATE TABLE IF NOT EXISTS public.search_index_watermark (
+                                                            index_name varchar(64) NOT NULL,
+                                                            indexed_at timestamp without time zone NOT NULL,
+                                                            CONSTRAINT Search_Index_Watermark_pkey PRIMARY KEY (index_name)
+);
@@ -0,0 +1,34 @@
+-- Подтвержденные (status = 1, APPROVED) бронирования одного предмета не должны пересекаться по времени.
+-- Ограничение проверяется базой данных при любом способе изменения статуса и работает между экземплярами сервера;
+-- BookingConflictIndex в памяти сервера лишь ускоряет предварительную проверку.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Уже существующие пересечения подтвержденных бронирований не исправляются автоматически: миграция прерывается
+-- со списком пересечений, их нужно разрешить вручную (отклонить лишние бронирования) и повторить миграцию
+DO $$
+DECLARE
+    conflicts text;
+BEGIN
+    SELECT string_agg(format('item_id=%s: booking_id=%s и booking_id=%s', b.item_id, o.booking_id, b.booking_id),
+                      E'\n' ORDER BY b.item_id, o.booking_id, b.booking_id)
+    INTO conflicts
+    FROM public.booking b
+    JOIN public.booking o ON o.item_id = b.item_id
+        AND o.status = 1
+        AND o.booking_id < b.booking_id
+        AND tsrange(o.start_time, o.end_time) && tsrange(b.start_time, b.end_time)
+    WHERE b.status = 1;
+
+    IF conflicts IS NOT NULL THEN
+        RAISE EXCEPTION 'Найдены пересекающиеся подтвержденные бронирования, ограничение % не может быть создано',
+            'Booking_Approved_No_Overlap'
+            USING DETAIL = conflicts,
+                  HINT = 'Отклоните (status = 2) лишние бронирования из списка и повторите миграцию';
+    END IF;
+END
+$$;
+
+ALTER TABLE public.booking
+    ADD CONSTRAINT Booking_Approved_No_Overlap
+        EXCLUDE USING gist (item_id WITH =, tsrange(start_time, end_time) WITH &&)
+        WHERE (status = 1);
@@ -0,0 +1,4 @@
+-- Версия бронирования для оптимистической блокировки: смена статуса выполняется условным UPDATE
+-- по паре (status, version), прочитанной перед изменением
+ALTER TABLE public.booking
+    ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,54 @@
+-- Сводка бронирований предмета: последнее (start_time < now) и ближайшее (start_time > now) подтвержденные
+-- бронирования. Обновляется при смене статуса бронирований и периодически (ItemBookingSummaryService),
+-- карточка предмета читает одну строку по item_id.
+CREATE TABLE IF NOT EXISTS public.item_booking_summary (
+                                                          item_id bigint NOT NULL,
+                                                          last_booking_id bigint,
+                                                          last_booker_id bigint,
+                                                          last_start timestamp without time zone,
+                                                          last_end timestamp without time zone,
+                                                          next_booking_id bigint,
+                                                          next_booker_id bigint,
+                                                          next_start timestamp without time zone,
+                                                          next_end timestamp without time zone,
+                                                          CONSTRAINT Item_Booking_Summary_pkey PRIMARY KEY (item_id),
+                                                          CONSTRAINT Summary_Item_Id_FK FOREIGN KEY (item_id)
+                                                              REFERENCES public.item (item_id)
+                                                              ON DELETE CASCADE
+                                                              ON UPDATE CASCADE,
+                                                          CONSTRAINT Summary_Last_Booking_FK FOREIGN KEY (last_booking_id)
+                                                              REFERENCES public.booking (booking_id)
+                                                              ON DELETE SET NULL,
+                                                          CONSTRAINT Summary_Next_Booking_FK FOREIGN KEY (next_booking_id)
+                                                              REFERENCES public.booking (booking_id)
+                                                              ON DELETE SET NULL
+);
+
+-- Поиск сводок, у которых ближайшее бронирование уже началось
+CREATE INDEX IF NOT EXISTS item_booking_summary_next_start_idx
+    ON public.item_booking_summary (next_start)
+    WHERE next_start IS NOT NULL;
+
+-- Заполнение сводок существующих предметов (status = 1, APPROVED)
+INSERT INTO public.item_booking_summary (item_id,
+    last_booking_id, last_booker_id, last_start, last_end,
+    next_booking_id, next_booker_id, next_start, next_end)
+SELECT i.item_id,
+       l.booking_id, l.booker_id, l.start_time, l.end_time,
+       n.booking_id, n.booker_id, n.start_time, n.end_time
+FROM public.item i
+LEFT JOIN LATERAL (SELECT b.booking_id, b.booker_id, b.start_time, b.end_time
+                   FROM public.booking b
+                   WHERE b.item_id = i.item_id
+                     AND b.status = 1
+                     AND b.start_time < localtimestamp
+                   ORDER BY b.start_time DESC
+                   LIMIT 1) l ON true
+LEFT JOIN LATERAL (SELECT b.booking_id, b.booker_id, b.start_time, b.end_time
+                   FROM public.booking b
+                   WHERE b.item_id = i.item_id
+                     AND b.status = 1
+                     AND b.start_time > localtimestamp
+                   ORDER BY b.start_time ASC
+                   LIMIT 1) n ON true
+ON CONFLICT (item_id) DO NOTHING;
@@ -0,0 +1,6 @@
+-- Идентификаторы пользователей и предметов выделяются Hibernate блоками по 50 (pooled optimizer,
+-- allocationSize = 50 в User и Item): шаг последовательностей должен совпадать с размером блока.
+-- Вставки через DEFAULT nextval(...) в обход Hibernate продолжают работать, расходуя по блоку на строку.
+ALTER SEQUENCE public.users_user_id_seq INCREMENT BY 50;
+
+ALTER SEQUENCE public.item_item_id_seq INCREMENT BY 50;
@@ -0,0 +1,13 @@
+-- Контрольные точки загрузки истории бронирований (BookingLoadService): номер последней обработанной строки
+-- потока, по нему прерванная загрузка продолжается без повторной записи уже сохраненных строк
+CREATE TABLE IF NOT EXISTS public.booking_load_checkpoint (
+                                                             load_id varchar(64) NOT NULL,
+                                                             status varchar(16) NOT NULL,
+                                                             lines_processed bigint NOT NULL DEFAULT 0,
+                                                             imported bigint NOT NULL DEFAULT 0,
+                                                             rejected bigint NOT NULL DEFAULT 0,
+                                                             started_at timestamp without time zone NOT NULL,
+                                                             updated_at timestamp without time zone NOT NULL,
+                                                             last_error varchar(1000),
+                                                             CONSTRAINT Booking_Load_Checkpoint_pkey PRIMARY KEY (load_id)
+);
@@ -0,0 +1,21 @@
+-- Владелец предмета в самом бронировании: выборки бронирований владельца (BookingRepository.getAllBookingByOwner*,
+-- BookingQueryRepository) читают только таблицу booking по индексу (owner_id, start_time DESC) без join'а с item.
+-- Новые бронирования получают owner_id при создании, существующие заполняет BookingOwnerBackfillJob пакетами,
+-- чтобы миграция не обновляла всю таблицу одной транзакцией.
+ALTER TABLE public.booking ADD COLUMN IF NOT EXISTS owner_id bigint;
+
+ALTER TABLE public.booking DROP CONSTRAINT IF EXISTS Booking_Owner_Id_FK;
+ALTER TABLE public.booking ADD CONSTRAINT Booking_Owner_Id_FK FOREIGN KEY (owner_id) REFERENCES public.users (user_id)
+    ON DELETE CASCADE
+    ON UPDATE CASCADE;
+
+CREATE INDEX IF NOT EXISTS booking_owner_start_idx
+    ON public.booking (owner_id, start_time DESC, booking_id DESC);
+
+CREATE INDEX IF NOT EXISTS booking_owner_status_start_idx
+    ON public.booking (owner_id, status, start_time DESC, booking_id DESC);
+
+-- Поиск еще не заполненных строк для BookingOwnerBackfillJob
+CREATE INDEX IF NOT EXISTS booking_owner_backfill_idx
+    ON public.booking (booking_id)
+    WHERE owner_id IS NULL;
@@ -0,0 +1,260 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingQuery;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.comments.CommentsRepository;
+import ru.practicum.shareit.item.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+
+import javax.sql.DataSource;
+import javax.transaction.Transactional;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Проверка планов запросов репозиториев на PostgreSQL с заполненной базой (1 000 000 бронирований).
+ * Запускается только при наличии переменной окружения SHAREIT_EXPLAIN_DATASOURCE_URL,
+ * например jdbc:postgresql://localhost:6541/shareit_explain. Схема создается миграциями Flyway,
+ * данные (explain_data.sql) загружаются в транзакции теста и откатываются после него.
+ * <p>
+ * Вызываются настоящие методы репозиториев; SQL, сгенерированный Hibernate, и значения его параметров
+ * перехватываются datasource-proxy, после чего для каждого запроса в той же транзакции выполняется EXPLAIN.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.driverClassName=org.postgresql.Driver",
+        "spring.datasource.url=${SHAREIT_EXPLAIN_DATASOURCE_URL}",
+        "spring.datasource.username=${POSTGRES_USER:root}",
+        "spring.datasource.password=${POSTGRES_PASSWORD:root}",
+        "spring.flyway.enabled=true",
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.sql.init.mode=never"
+})
+@EnabledIfEnvironmentVariable(named = "SHAREIT_EXPLAIN_DATASOURCE_URL", matches = "jdbc:postgresql:.+")
+@Sql("/explain_data.sql")
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class QueryPlanTest {
+
+    private static final QueryRecorder RECORDER = new QueryRecorder();
+
+    private static final Long USER_ID = 42L;
+
+    private static final Long ITEM_ID = 42L;
+
+    /**
+     * Бронирования в explain_data.sql начинаются 2020-01-01 и идут с шагом в минуту почти два года.
+     */
+    private static final LocalDateTime CURRENT = LocalDateTime.of(2021, 1, 1, 0, 0);
+
+    private static final BookingCursor CURSOR = new BookingCursor(LocalDateTime.of(2021, 6, 1, 0, 0), 500_000L);
+
+    private final BookingRepository bookingRepository;
+
+    private final ItemRepository itemRepository;
+
+    private final ItemBookingSummaryRepository summaryRepository;
+
+    private final CommentsRepository commentsRepository;
+
+    private final ItemRequestRepository itemRequestRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void repositoryQueriesDoNotUseSeqScan() {
+        Assertions.assertAll(repositoryCalls().entrySet().stream()
+                .map(call -> (Executable) () -> assertNoSeqScan(call.getKey(), call.getValue())));
+    }
+
+    private Map<String, Runnable> repositoryCalls() {
+        Map<String, Runnable> calls = new LinkedHashMap<>();
+
+        for (BookingRole role : BookingRole.values()) {
+            for (BookingState state : BookingState.values()) {
+                calls.put("BookingRepository.findBookings " + role + " " + state,
+                        () -> bookingRepository.findBookings(query(role, state, null)));
+                calls.put("BookingRepository.findBookings " + role + " " + state + " after cursor",
+                        () -> bookingRepository.findBookings(query(role, state, CURSOR)));
+            }
+        }
+
+        List<Long> ownerItemIds = LongStream.range(0, 10)
+                .mapToObj(i -> USER_ID - 1 + i * 10_000)
+                .collect(Collectors.toList());
+
+        calls.put("BookingRepository.getTopBookingByItem_IdAndBooker_IdAndEndBeforeOrderByEndDesc",
+                () -> bookingRepository.getTopBookingByItem_IdAndBooker_IdAndEndBeforeOrderByEndDesc(ITEM_ID,
+                        USER_ID, CURRENT));
+        calls.put("BookingRepository.getBookingIntervals",
+                () -> bookingRepository.getBookingIntervals(ITEM_ID, BookingStatus.APPROVED));
+        calls.put("ItemRepository.getItemsByUser_IdOrderByIdAsc",
+                () -> itemRepository.getItemsByUser_IdOrderByIdAsc(USER_ID));
+        calls.put("ItemBookingSummaryRepository.getLastAndNextBookings",
+                () -> summaryRepository.getLastAndNextBookings(ownerItemIds, CURRENT, BookingStatus.APPROVED));
+        calls.put("CommentsRepository.findCommentsByItem_IdAndAuthor_Id",
+                () -> commentsRepository.findCommentsByItem_IdAndAuthor_Id(ITEM_ID, USER_ID));
+        calls.put("CommentsRepository.findCommentsByItem_Id",
+                () -> commentsRepository.findCommentsByItem_Id(ITEM_ID));
+        calls.put("CommentsRepository.findCommentsByItem_IdInAndAuthor_Id",
+                () -> commentsRepository.findCommentsByItem_IdInAndAuthor_Id(ownerItemIds, USER_ID));
+        calls.put("ItemRequestRepository.getItemRequestByRequesterId",
+                () -> itemRequestRepository.getItemRequestByRequesterId(USER_ID));
+
+        return calls;
+    }
+
+    private void assertNoSeqScan(String name, Runnable call) {
+        List<RecordedQuery> queries = RECORDER.record(call);
+        Assertions.assertFalse(queries.isEmpty(), name + " не выполнил ни одного запроса");
+
+        for (RecordedQuery query : queries) {
+            List<String> plan = explain(query);
+
+            for (String line : plan) {
+                Assertions.assertFalse(line.contains("Seq Scan on booking")
+                                || line.contains("Seq Scan on item ")
+                                || line.contains("Seq Scan on comments")
+                                || line.contains("Seq Scan on item_request"),
+                        name + " использует последовательное сканирование:\n" + query.getSql() + "\n"
+                                + String.join("\n", plan));
+            }
+        }
+    }
+
+    /**
+     * EXPLAIN выполняется в транзакции теста (данные и статистика не зафиксированы) с теми же значениями
+     * параметров, с которыми Hibernate выполнил запрос.
+     */
+    private List<String> explain(RecordedQuery query) {
+        return jdbcTemplate.execute("explain " + query.getSql(), (PreparedStatementCallback<List<String>>) ps -> {
+            for (ParameterSetOperation operation : query.getParameters()) {
+                try {
+                    operation.getMethod().invoke(ps, operation.getArgs());
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new SQLException("Не удалось передать параметр запроса " + query.getSql(), e);
+                }
+            }
+
+            List<String> plan = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    plan.add(rs.getString(1));
+                }
+            }
+            return plan;
+        });
+    }
+
+    private static BookingQuery query(BookingRole role, BookingState state, BookingCursor cursor) {
+        return BookingQuery.builder()
+                .role(role)
+                .userId(USER_ID)
+                .state(state)
+                .current(CURRENT)
+                .cursor(cursor)
+                .offset(0)
+                .limit(20)
+                .build();
+    }
+
+    private static class RecordedQuery {
+        private final String sql;
+
+        private final List<ParameterSetOperation> parameters;
+
+        RecordedQuery(QueryInfo queryInfo) {
+            this.sql = queryInfo.getQuery();
+            this.parameters = queryInfo.getParametersList().isEmpty()
+                    ? List.of()
+                    : new ArrayList<>(queryInfo.getParametersList().get(0));
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        List<ParameterSetOperation> getParameters() {
+            return parameters;
+        }
+    }
+
+    /**
+     * Запоминает запросы, выполненные потоком теста во время record: запросы фоновых задач не попадают в список.
+     */
+    private static class QueryRecorder implements QueryExecutionListener {
+        private final List<RecordedQuery> queries = new ArrayList<>();
+
+        private volatile Thread recordingThread;
+
+        synchronized List<RecordedQuery> record(Runnable call) {
+            queries.clear();
+            recordingThread = Thread.currentThread();
+            try {
+                call.run();
+            } finally {
+                recordingThread = null;
+            }
+            return new ArrayList<>(queries);
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (Thread.currentThread() == recordingThread) {
+                queryInfoList.forEach(queryInfo -> queries.add(new RecordedQuery(queryInfo)));
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class QueryRecorderConfig {
+        @Bean
+        static BeanPostProcessor queryRecordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if ("dataSource".equals(beanName) && bean instanceof DataSource) {
+                        return ProxyDataSourceBuilder.create((DataSource) bean)
+                                .listener(RECORDER)
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.context.transaction.TestTransaction;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+/**
+ * READ_WRITE-регион отдает запись только сессиям, открытым после ее загрузки в кэш, а после массового
+ * обновления очищается при завершении транзакции. Поэтому чтение из кэша и его очистка проверяются
+ * в новой транзакции, а данные теста фиксируются отдельно от транзакции теста и удаляются после нее.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Rollback
+@Sql(scripts = {
+        "/test_schema.sql",
+        "/import_user_data.sql",
+        "/import_item_request_data.sql",
+        "/import_item_data.sql"
+}, config = @SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED))
+class SecondLevelCacheTest {
+
+    private final TestEntityManager em;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final UserRepository userRepository;
+
+    private final ItemRepository itemRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        em.getEntityManager().getEntityManagerFactory().getCache().evictAll();
+
+        statistics = em.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @AfterTransaction
+    void deleteTestData() {
+        jdbcTemplate.update("DELETE FROM public.item WHERE item_id IN (1000, 2000, 3000, 4000, 5000, 6000)");
+        jdbcTemplate.update("DELETE FROM public.item_request WHERE item_request_id = 1000");
+        jdbcTemplate.update("DELETE FROM public.users WHERE user_id IN (1000, 4000, 5000, 6000)");
+    }
+
+    @Test
+    void userLookupIsServedFromCache() {
+        Assertions.assertTrue(userRepository.getUserById(1000L).isPresent());
+        startNewTransaction();
+
+        long statementCount = statistics.getPrepareStatementCount();
+
+        Assertions.assertTrue(userRepository.existsUserById(1000L));
+        em.clear();
+        Assertions.assertEquals("user1 name", userRepository.getUserById(1000L).orElseThrow().getName());
+
+        Assertions.assertEquals(statementCount, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void updateUserInvalidatesCachedUser() {
+        Assertions.assertTrue(userRepository.getUserById(1000L).isPresent());
+        startNewTransaction();
+
+        userRepository.updateUser(User.builder()
+                .id(1000L)
+                .name("cached user updated")
+                .build());
+        commitAndStartNewTransaction();
+
+        var updatedUser = userRepository.getUserById(1000L).orElseThrow();
+
+        Assertions.assertEquals("cached user updated", updatedUser.getName());
+        Assertions.assertEquals("user_1@user.com", updatedUser.getEmail());
+    }
+
+    @Test
+    void itemLookupIsServedFromCache() {
+        Assertions.assertTrue(itemRepository.getItemById(1000L).isPresent());
+        startNewTransaction();
+
+        long statementCount = statistics.getPrepareStatementCount();
+
+        var item = itemRepository.getItemById(1000L).orElseThrow();
+
+        Assertions.assertEquals("Аккумуляторная дрель", item.getName());
+        Assertions.assertEquals(1000L, item.getUser().getId());
+        Assertions.assertEquals(statementCount, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void updateItemInvalidatesCachedItem() {
+        Item item = itemRepository.getItemById(1000L).orElseThrow();
+        startNewTransaction();
+
+        itemRepository.updateItem(Item.builder()
+                .id(item.getId())
+                .description("cached item updated")
+                .user(item.getUser())
+                .build());
+        commitAndStartNewTransaction();
+
+        var updatedItem = itemRepository.getItemById(1000L).orElseThrow();
+
+        Assertions.assertEquals("cached item updated", updatedItem.getDescription());
+        Assertions.assertEquals("Аккумуляторная дрель", updatedItem.getName());
+    }
+
+    @Test
+    void updateItemEvictsWholeItemRegion() {
+        Item item = itemRepository.getItemById(1000L).orElseThrow();
+        Assertions.assertTrue(itemRepository.getItemById(2000L).isPresent());
+        startNewTransaction();
+
+        itemRepository.updateItem(Item.builder()
+                .id(item.getId())
+                .description("cached item updated")
+                .user(item.getUser())
+                .build());
+        commitAndStartNewTransaction();
+
+        long missCount = statistics.getSecondLevelCacheMissCount();
+
+        Assertions.assertEquals("Отвертка", itemRepository.getItemById(2000L).orElseThrow().getName());
+        Assertions.assertEquals(missCount + 1, statistics.getSecondLevelCacheMissCount());
+    }
+
+    private void startNewTransaction() {
+        TestTransaction.end();
+        TestTransaction.start();
+    }
+
+    private void commitAndStartNewTransaction() {
+        TestTransaction.flagForCommit();
+        startNewTransaction();
+    }
+}
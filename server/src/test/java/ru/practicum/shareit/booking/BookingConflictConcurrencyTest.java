@@ -0,0 +1,184 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import ru.practicum.shareit.exceptions.ApiErrorException;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.UserDto;
+import ru.practicum.shareit.user.UserService;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingConflictConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    private final BookingService bookingService;
+
+    private final BookingRepository bookingRepository;
+
+    private final ItemService itemService;
+
+    private final UserService userService;
+
+    private final DataSource dataSource;
+
+    private final List<UserDto> users = new ArrayList<>();
+
+    private UserDto owner;
+
+    @BeforeAll
+    void setUp() {
+        new ResourceDatabasePopulator(new ClassPathResource("test_schema.sql")).execute(dataSource);
+
+        owner = createUser("owner");
+        for (int i = 0; i < THREADS; i++) {
+            createUser("booker" + i);
+        }
+    }
+
+    @AfterAll
+    void tearDown() {
+        users.forEach(user -> userService.deleteUser(user.getId()));
+    }
+
+    @Test
+    void overlappingBookingsAreApprovedOnlyOnce() throws Exception {
+        ItemDto item = createItem();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookingIds.add(createBooking(item, i, start.plusMinutes(i), start.plusHours(2).plusMinutes(i)));
+        }
+
+        var result = approveConcurrently(bookingIds);
+
+        Assertions.assertEquals(1, result.approved.get());
+        Assertions.assertEquals(THREADS - 1, result.conflicts.get());
+        Assertions.assertEquals(1, bookingRepository.getBookingIntervals(item.getId(), BookingStatus.APPROVED).size());
+    }
+
+    @Test
+    void disjointBookingsAreAllApproved() throws Exception {
+        ItemDto item = createItem();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookingIds.add(createBooking(item, i, start.plusHours(i), start.plusHours(i + 1)));
+        }
+
+        var result = approveConcurrently(bookingIds);
+
+        Assertions.assertEquals(THREADS, result.approved.get());
+        Assertions.assertEquals(0, result.conflicts.get());
+    }
+
+    @Test
+    void rejectedBookingFreesInterval() {
+        ItemDto item = createItem();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        Long firstId = createBooking(item, 0, start, start.plusHours(2));
+        Long secondId = createBooking(item, 1, start.plusHours(1), start.plusHours(3));
+
+        bookingService.approvalBooking(owner.getId(), firstId, true);
+
+        ApiErrorException ex = Assertions.assertThrows(ApiErrorException.class, () ->
+                bookingService.approvalBooking(owner.getId(), secondId, true));
+        Assertions.assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+
+        ex = Assertions.assertThrows(ApiErrorException.class, () ->
+                createBooking(item, 2, start.plusMinutes(30), start.plusHours(1)));
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+
+        bookingService.approvalBooking(owner.getId(), firstId, false);
+
+        Assertions.assertEquals(BookingStatus.APPROVED,
+                bookingService.approvalBooking(owner.getId(), secondId, true).getStatus());
+    }
+
+    private ApprovalResult approveConcurrently(List<Long> bookingIds) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        ApprovalResult result = new ApprovalResult();
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Long bookingId : bookingIds) {
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    try {
+                        bookingService.approvalBooking(owner.getId(), bookingId, true);
+                        result.approved.incrementAndGet();
+                    } catch (ApiErrorException e) {
+                        Assertions.assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+                        result.conflicts.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            startGate.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return result;
+    }
+
+    private UserDto createUser(String name) {
+        UserDto user = userService.createUser(UserDto.builder()
+                .name("BookingConflictConcurrencyTest " + name)
+                .email("booking_conflict_" + name + "@mail.ru")
+                .build());
+        users.add(user);
+        return user;
+    }
+
+    private ItemDto createItem() {
+        return itemService.createItem(ItemDto.builder()
+                .name("Перфоратор")
+                .description("Перфоратор для конкурентных бронирований")
+                .available(true)
+                .build(), owner.getId());
+    }
+
+    private Long createBooking(ItemDto item, int booker, LocalDateTime start, LocalDateTime end) {
+        return bookingService.createBooking(InputBookingDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(end)
+                .build(), users.get(booker + 1).getId()).getId();
+    }
+
+    private static class ApprovalResult {
+        private final AtomicInteger approved = new AtomicInteger();
+        private final AtomicInteger conflicts = new AtomicInteger();
+    }
+}
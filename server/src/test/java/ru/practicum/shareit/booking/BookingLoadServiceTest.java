@@ -0,0 +1,141 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.exceptions.ApiErrorException;
+import ru.practicum.shareit.item.ItemBookingSummaryService;
+
+import javax.transaction.Transactional;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@SpringBootTest(properties = "shareit.booking.load.batch-size=2")
+@Sql({
+        "/test_schema.sql",
+        "/import_user_data.sql",
+        "/import_item_request_data.sql",
+        "/import_item_data.sql"
+})
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingLoadServiceTest {
+
+    private static final String CSV = "text/csv";
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final BookingLoadService loadService;
+
+    private final BookingLoadCheckpointRepository checkpointRepository;
+
+    private final BookingRepository bookingRepository;
+
+    private final ItemBookingSummaryService itemBookingSummaryService;
+
+    private final LocalDateTime lastStart = LocalDateTime.now().minusMinutes(30).truncatedTo(ChronoUnit.SECONDS);
+
+    @Test
+    void loadCsvStandardBehavior() {
+        long bookingsBefore = bookingRepository.count();
+
+        var progress = loadService.loadBookings(stream(
+                "itemId,bookerId,start,end,status",
+                "2000,5000," + lastStart + "," + lastStart.plusMinutes(20) + ",APPROVED",
+                "2000,1000,2020-01-01T10:00:00,2020-01-02T10:00:00,REJECTED",
+                "",
+                "1000,4000,2020-02-01T10:00:00,2020-02-02T10:00:00,WAITING",
+                "9999,5000,2020-02-01T10:00:00,2020-02-02T10:00:00,APPROVED",
+                "2000,4000,2020-02-01T10:00:00,2020-02-02T10:00:00,APPROVED",
+                "2000,5000,2020-02-02T10:00:00,2020-02-01T10:00:00,APPROVED",
+                "2000,5000,2020-02-01T10:00:00,2020-02-02T10:00:00,UNKNOWN",
+                "2000,5000,2020-02-01T10:00:00"), CSV, "csv-load");
+
+        Assertions.assertEquals(BookingLoadStatus.COMPLETED, progress.getStatus());
+        Assertions.assertEquals(10, progress.getLinesProcessed());
+        Assertions.assertEquals(3, progress.getImported());
+        Assertions.assertEquals(5, progress.getRejected());
+        Assertions.assertEquals(5, progress.getErrors().size());
+        Assertions.assertTrue(progress.getErrors().get(0).startsWith("Строка 6: "));
+        Assertions.assertEquals(bookingsBefore + 3, bookingRepository.count());
+
+        var summary = itemBookingSummaryService.getSummary(2000L);
+        Assertions.assertEquals(5000L, summary.getLastBookerId());
+        Assertions.assertEquals(lastStart, summary.getLastStart());
+    }
+
+    @Test
+    void loadContinuesFromCheckpoint() {
+        LocalDateTime now = LocalDateTime.now();
+        checkpointRepository.save(BookingLoadCheckpoint.builder()
+                .loadId("resumed-load")
+                .status(BookingLoadStatus.FAILED)
+                .linesProcessed(2)
+                .imported(2)
+                .startedAt(now)
+                .updatedAt(now)
+                .lastError("Соединение с базой данных потеряно")
+                .build());
+        long bookingsBefore = bookingRepository.count();
+
+        var progress = loadService.loadBookings(stream(
+                ndjson(2000L, 5000L, "2020-01-01T10:00:00"),
+                ndjson(2000L, 1000L, "2020-01-03T10:00:00"),
+                ndjson(2000L, 5000L, "2020-01-05T10:00:00"),
+                ndjson(1000L, 4000L, "2020-01-07T10:00:00")), NDJSON, "resumed-load");
+
+        Assertions.assertEquals(BookingLoadStatus.COMPLETED, progress.getStatus());
+        Assertions.assertEquals(4, progress.getLinesProcessed());
+        Assertions.assertEquals(4, progress.getImported());
+        Assertions.assertNull(progress.getLastError());
+        Assertions.assertEquals(bookingsBefore + 2, bookingRepository.count());
+    }
+
+    @Test
+    void completedLoadIsNotRepeated() {
+        var first = loadService.loadBookings(stream(ndjson(2000L, 5000L, "2020-01-01T10:00:00")), NDJSON,
+                "completed-load");
+        long bookingsAfterFirst = bookingRepository.count();
+
+        var repeated = loadService.loadBookings(stream(ndjson(2000L, 5000L, "2020-01-01T10:00:00")), NDJSON,
+                "completed-load");
+
+        Assertions.assertEquals(1, first.getImported());
+        Assertions.assertEquals(BookingLoadStatus.COMPLETED, repeated.getStatus());
+        Assertions.assertEquals(1, repeated.getImported());
+        Assertions.assertEquals(bookingsAfterFirst, bookingRepository.count());
+        Assertions.assertEquals(BookingLoadStatus.COMPLETED, loadService.getLoadProgress("completed-load").getStatus());
+    }
+
+    @Test
+    void loadWithUnsupportedContentType() {
+        ApiErrorException ex = Assertions.assertThrows(ApiErrorException.class, () ->
+                loadService.loadBookings(stream("<bookings/>"), "application/xml", "xml-load"));
+
+        Assertions.assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, ex.getStatusCode());
+    }
+
+    @Test
+    void getProgressOfUnknownLoad() {
+        ApiErrorException ex = Assertions.assertThrows(ApiErrorException.class, () ->
+                loadService.getLoadProgress("unknown-load"));
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    }
+
+    private static String ndjson(Long itemId, Long bookerId, String start) {
+        return "{\"itemId\":" + itemId + ",\"bookerId\":" + bookerId + ",\"start\":\"" + start
+                + "\",\"end\":\"" + LocalDateTime.parse(start).plusDays(1) + "\",\"status\":\"APPROVED\"}";
+    }
+
+    private static InputStream stream(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
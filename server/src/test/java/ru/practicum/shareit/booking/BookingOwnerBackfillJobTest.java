@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.transaction.Transactional;
+import java.util.List;
+import java.util.Map;
+
+@SpringBootTest(properties = "shareit.booking.owner-backfill.batch-size=3")
+@Sql({
+        "/test_schema.sql",
+        "/import_user_data.sql",
+        "/import_item_request_data.sql",
+        "/import_item_data.sql",
+        "/import_booking_data.sql"
+})
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingOwnerBackfillJobTest {
+
+    private final BookingOwnerBackfillJob backfillJob;
+
+    private final BookingService bookingService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void runFillsOwnerFromItem() {
+        jdbcTemplate.update("UPDATE public.booking SET owner_id = NULL WHERE booking_id <> 4000");
+
+        Assertions.assertEquals(7L, backfillJob.run());
+        Assertions.assertTrue(backfillJob.isComplete());
+
+        List<Map<String, Object>> mismatched = jdbcTemplate.queryForList("SELECT b.booking_id FROM public.booking b " +
+                "JOIN public.item i ON i.item_id = b.item_id WHERE b.owner_id IS NULL OR b.owner_id <> i.owner");
+        Assertions.assertTrue(mismatched.isEmpty());
+
+        Assertions.assertEquals(0L, backfillJob.run());
+    }
+
+    @Test
+    void ownerBookingsAfterBackfill() {
+        jdbcTemplate.update("UPDATE public.booking SET owner_id = NULL");
+        backfillJob.run();
+
+        var bookings = bookingService.getAllBookingByOwner(4000L, 0, 20, "ALL");
+
+        Assertions.assertEquals(5, bookings.size());
+    }
+}
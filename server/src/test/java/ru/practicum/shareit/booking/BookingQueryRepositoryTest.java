@@ -0,0 +1,202 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Сравнение BookingQueryRepository.findBookings с прежними JPQL-запросами BookingRepository
+ * для каждого сочетания роли и состояния. Владелец в прежних запросах берется из item.user,
+ * поэтому сравнение проверяет и booking.owner_id.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Sql({
+        "/test_schema.sql",
+        "/import_user_data.sql",
+        "/import_item_request_data.sql",
+        "/import_item_data.sql",
+        "/import_booking_data.sql",
+        "/import_comments_data.sql"
+})
+class BookingQueryRepositoryTest {
+
+    private static final Long BOOKER_ID = 1000L;
+
+    private static final Long OWNER_ID = 4000L;
+
+    /**
+     * Момент, для которого в тестовых данных есть прошлые, текущие и будущие бронирования.
+     */
+    private static final LocalDateTime CURRENT = LocalDateTime.of(2023, 7, 15, 0, 0);
+
+    private static final BookingCursor CURSOR = new BookingCursor(LocalDateTime.of(2023, 7, 14, 14, 4, 58), 6000L);
+
+    private final TestEntityManager em;
+
+    private final BookingRepository bookingRepository;
+
+    static Stream<Arguments> shapes() {
+        return Arrays.stream(BookingRole.values())
+                .flatMap(role -> Arrays.stream(BookingState.values())
+                        .map(state -> Arguments.of(role, state)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("shapes")
+    void findBookingsMatchesLegacyQueries(BookingRole role, BookingState state) {
+        var expected = legacyBookings(role, state, null);
+        var actual = bookingRepository.findBookings(query(role, state, null, 0, Integer.MAX_VALUE));
+
+        Assertions.assertEquals(legacyIds(expected), ids(actual));
+    }
+
+    @ParameterizedTest
+    @MethodSource("shapes")
+    void findBookingsAfterCursorMatchesLegacyQueries(BookingRole role, BookingState state) {
+        var expected = legacyBookings(role, state, CURSOR);
+        var actual = bookingRepository.findBookings(query(role, state, CURSOR, 0, Integer.MAX_VALUE));
+
+        Assertions.assertEquals(legacyIds(expected), ids(actual));
+    }
+
+    @Test
+    void findBookingsPagesByOffset() {
+        var all = bookingRepository.findBookings(query(BookingRole.OWNER, BookingState.ALL, null, 0, Integer.MAX_VALUE));
+
+        List<BookingProjection> paged = new ArrayList<>();
+        for (int offset = 0; offset < all.size(); offset += 2) {
+            paged.addAll(bookingRepository.findBookings(query(BookingRole.OWNER, BookingState.ALL, null, offset, 2)));
+        }
+
+        Assertions.assertEquals(ids(all), ids(paged));
+    }
+
+    @Test
+    void findBookingsReturnsBookingFields() {
+        var expected = legacyBookings(BookingRole.OWNER, BookingState.ALL, null);
+        var actual = bookingRepository.findBookings(query(BookingRole.OWNER, BookingState.ALL, null, 0,
+                Integer.MAX_VALUE));
+
+        var expectedDto = BookingMapper.toDto(expected);
+        var actualDto = BookingMapper.toDtoFromProjections(actual);
+
+        Assertions.assertEquals(expectedDto, actualDto);
+    }
+
+    @Test
+    void sameShapeProducesSameQuery() {
+        Statistics statistics = em.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        bookingRepository.findBookings(query(BookingRole.BOOKER, BookingState.PAST, null, 0, 10));
+        bookingRepository.findBookings(BookingQuery.builder()
+                .role(BookingRole.BOOKER)
+                .userId(5000L)
+                .state(BookingState.PAST)
+                .current(CURRENT.plusYears(1))
+                .offset(0)
+                .limit(10)
+                .build());
+        Assertions.assertEquals(1, statistics.getQueries().length);
+
+        bookingRepository.findBookings(query(BookingRole.BOOKER, BookingState.PAST, CURSOR, 0, 10));
+        Assertions.assertEquals(2, statistics.getQueries().length);
+    }
+
+    /**
+     * Прежний запрос BookingRepository для роли и состояния (getAllBookingByBooker_IdOrderByStartDesc,
+     * getAllBookingByOwnerInPast и т.д.). Сортировка дополнена id desc, как в findBookings: иначе порядок
+     * бронирований с одинаковым началом не определен.
+     */
+    private List<Booking> legacyBookings(BookingRole role, BookingState state, BookingCursor cursor) {
+        StringBuilder jpql = new StringBuilder("select b from Booking b where ")
+                .append(role == BookingRole.BOOKER ? "b.booker.id" : "b.item.user.id")
+                .append(" = :userId");
+
+        switch (state) {
+            case WAITING:
+            case REJECTED:
+                jpql.append(" and b.status = :status");
+                break;
+            case FUTURE:
+                jpql.append(" and b.start > :current");
+                break;
+            case CURRENT:
+                jpql.append(" and :current between b.start and b.end");
+                break;
+            case PAST:
+                jpql.append(" and b.end < :current");
+                break;
+            default:
+                break;
+        }
+
+        if (cursor != null) {
+            jpql.append(" and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId))");
+        }
+        jpql.append(" order by b.start desc, b.id desc");
+
+        TypedQuery<Booking> query = em.getEntityManager().createQuery(jpql.toString(), Booking.class)
+                .setParameter("userId", role == BookingRole.BOOKER ? BOOKER_ID : OWNER_ID);
+
+        if (state == BookingState.WAITING || state == BookingState.REJECTED) {
+            query.setParameter("status", BookingStatus.valueOf(state.name()));
+        } else if (state != BookingState.ALL) {
+            query.setParameter("current", CURRENT);
+        }
+        if (cursor != null) {
+            query.setParameter("cursorStart", cursor.getStart())
+                    .setParameter("cursorId", cursor.getId());
+        }
+
+        return query.getResultList();
+    }
+
+    private static BookingQuery query(BookingRole role, BookingState state, BookingCursor cursor,
+                                      int offset, int limit) {
+        return BookingQuery.builder()
+                .role(role)
+                .userId(role == BookingRole.BOOKER ? BOOKER_ID : OWNER_ID)
+                .state(state)
+                .current(CURRENT)
+                .cursor(cursor)
+                .offset(offset)
+                .limit(limit)
+                .build();
+    }
+
+    private static List<Long> legacyIds(List<Booking> bookings) {
+        return bookings.stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Long> ids(List<BookingProjection> bookings) {
+        return bookings.stream()
+                .map(BookingProjection::getId)
+                .collect(Collectors.toList());
+    }
+}
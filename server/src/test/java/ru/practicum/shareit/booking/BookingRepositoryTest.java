@@ -1,12 +1,13 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.jdbc.Sql;
 import ru.practicum.shareit.item.Item;
@@ -15,7 +16,11 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 @DataJpaTest
@@ -107,7 +112,8 @@ class BookingRepositoryTest {
         Assertions.assertNotNull(newBooking.getId());
         Assertions.assertEquals(BookingStatus.WAITING, newBooking.getStatus());
 
-        bookingRepository.updateStatus(newBooking.getId(), BookingStatus.APPROVED);
+        Assertions.assertEquals(1, bookingRepository.transitionStatus(newBooking.getId(), BookingStatus.WAITING,
+                BookingStatus.APPROVED, newBooking.getVersion()));
 
         var updatedBookingOpt = bookingRepository.getBookingById(newBooking.getId());
         Assertions.assertTrue(updatedBookingOpt.isPresent());
@@ -119,21 +125,20 @@ class BookingRepositoryTest {
     @Order(5)
     @Test
     void getAllBookingByUserInFutureStandardBehavior() {
-        var allBookings = bookingRepository.getAllBookingByBooker_IdOrderByStartDesc(1000L, PageRequest.of(0, Integer.MAX_VALUE)).toList();
+        var allBookings = findBookings(BookingRole.BOOKER, 1000L, BookingState.ALL);
         Assertions.assertEquals(5, allBookings.size());
 
-        var allBookingsInFuture = bookingRepository.getAllBookingByUserInFuture(1000L, LocalDateTime.now(), PageRequest.of(0, Integer.MAX_VALUE)).toList();
+        var allBookingsInFuture = findBookings(BookingRole.BOOKER, 1000L, BookingState.FUTURE);
         Assertions.assertEquals(1, allBookingsInFuture.size());
     }
 
     @Order(6)
     @Test
     void getAllByBooker_IdAndCurrentTimeStandardBehavior() {
-        var allBookings = bookingRepository.getAllBookingByBooker_IdOrderByStartDesc(1000L, PageRequest.of(0, Integer.MAX_VALUE)).toList();
+        var allBookings = findBookings(BookingRole.BOOKER, 1000L, BookingState.ALL);
         Assertions.assertEquals(5, allBookings.size());
 
-        var allBookingsInCurrent = bookingRepository.getAllBookingByBookerInCurrent(1000L,
-                LocalDateTime.now(), PageRequest.of(0, Integer.MAX_VALUE)).toList();
+        var allBookingsInCurrent = findBookings(BookingRole.BOOKER, 1000L, BookingState.CURRENT);
 
         Assertions.assertEquals(1, allBookingsInCurrent.size());
     }
@@ -141,11 +146,10 @@ class BookingRepositoryTest {
     @Order(7)
     @Test
     void getAllByBookerInPastStandardBehavior() {
-        var allBookings = bookingRepository.getAllBookingByBooker_IdOrderByStartDesc(1000L, PageRequest.of(0, Integer.MAX_VALUE)).toList();
+        var allBookings = findBookings(BookingRole.BOOKER, 1000L, BookingState.ALL);
         Assertions.assertEquals(5, allBookings.size());
 
-        var allBookingsInPast = bookingRepository.getAllBookingByUserInPast(1000L,
-                LocalDateTime.now(), PageRequest.of(0, Integer.MAX_VALUE)).toList();
+        var allBookingsInPast = findBookings(BookingRole.BOOKER, 1000L, BookingState.PAST);
 
         Assertions.assertEquals(3, allBookingsInPast.size());
     }
@@ -153,16 +157,16 @@ class BookingRepositoryTest {
     @Order(8)
     @Test
     void getAllBookingByOwnerStandardBehavior() {
-        var allBookings0 = bookingRepository.getAllBookingByOwner(4000L, PageRequest.of(0, Integer.MAX_VALUE)).toList();
+        var allBookings0 = findBookings(BookingRole.OWNER, 4000L, BookingState.ALL);
         Assertions.assertEquals(5, allBookings0.size());
 
-        var allBookings1 = bookingRepository.getAllBookingByOwner(6000L, PageRequest.of(0, Integer.MAX_VALUE)).toList();
+        var allBookings1 = findBookings(BookingRole.OWNER, 6000L, BookingState.ALL);
         Assertions.assertEquals(1, allBookings1.size());
     }
 
     @Order(9)
     @Test
-    void getAllBookingByOwnerAndStatusStandardBehavior() {
+    void savedBookingIsListedForItemOwner() {
         fillTestUsers();
         fillTestItems();
 
@@ -176,42 +180,166 @@ class BookingRepositoryTest {
                 .build();
 
         Assertions.assertNotNull(bookingRepository.save(newBooking1));
+        Assertions.assertEquals(testItemList.get(1).getUser().getId(), newBooking1.getOwnerId());
 
-        var allBookings = bookingRepository.getAllBookingByOwnerAndStatus(testUserList.get(1).getId(),
-                BookingStatus.CANCELED, PageRequest.of(0, Integer.MAX_VALUE)).toList();
+        var allBookings = findBookings(BookingRole.OWNER, testItemList.get(1).getUser().getId(), BookingState.ALL);
 
-        Assertions.assertEquals(1, allBookings.size());
-        Assertions.assertEquals(testItemList.get(1).getId(), allBookings.get(0).getItem().getId());
+        Assertions.assertTrue(allBookings.stream().anyMatch(b -> b.getId().equals(newBooking1.getId())));
     }
 
     @Order(10)
     @Test
     void getAllBookingByOwnerInPastStandardBehavior() {
-        var allBookings = bookingRepository.getAllBookingByOwnerInPast(4000L,
-                LocalDateTime.now(), PageRequest.of(0, Integer.MAX_VALUE)).toList();
+        var allBookings = findBookings(BookingRole.OWNER, 4000L, BookingState.PAST);
 
         Assertions.assertEquals(3, allBookings.size());
-        Assertions.assertEquals(2000L, allBookings.get(0).getItem().getId());
+        Assertions.assertEquals(2000L, allBookings.get(0).getItemId());
     }
 
     @Order(11)
     @Test
     void getAllBookingByOwnerInCurrentStandardBehavior() {
-        var allBookings = bookingRepository.getAllBookingByOwnerInCurrent(4000L,
-                LocalDateTime.now(), PageRequest.of(0, Integer.MAX_VALUE)).toList();
+        var allBookings = findBookings(BookingRole.OWNER, 4000L, BookingState.CURRENT);
 
         Assertions.assertEquals(1, allBookings.size());
-        Assertions.assertEquals(3000L, allBookings.get(0).getItem().getId());
+        Assertions.assertEquals(3000L, allBookings.get(0).getItemId());
     }
 
     @Order(12)
     @Test
     void getAllBookingByOwnerInFutureStandardBehavior() {
-        var allBookings = bookingRepository.getAllBookingByOwnerInFuture(4000L,
-                LocalDateTime.now(), PageRequest.of(0, Integer.MAX_VALUE)).toList();
+        var allBookings = findBookings(BookingRole.OWNER, 4000L, BookingState.FUTURE);
 
         Assertions.assertEquals(1, allBookings.size());
-        Assertions.assertEquals(2000L, allBookings.get(0).getItem().getId());
+        Assertions.assertEquals(2000L, allBookings.get(0).getItemId());
+    }
+
+    @Order(13)
+    @Test
+    void getAllBookingByOwnerAfterCursorStandardBehavior() {
+        var allBookings = findBookings(BookingRole.OWNER, 4000L, BookingState.ALL);
+        Assertions.assertEquals(5, allBookings.size());
+
+        List<BookingProjection> seekBookings = new ArrayList<>();
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE);
+
+        while (true) {
+            var page = bookingRepository.findBookings(query(BookingRole.OWNER, 4000L, BookingState.ALL)
+                    .cursor(cursor)
+                    .limit(2)
+                    .build());
+
+            if (page.isEmpty()) {
+                break;
+            }
+
+            Assertions.assertTrue(page.size() <= 2);
+            seekBookings.addAll(page);
+
+            BookingProjection last = page.get(page.size() - 1);
+            cursor = new BookingCursor(last.getStartTime(), last.getId());
+        }
+
+        Assertions.assertEquals(allBookings.size(), seekBookings.size());
+
+        for (int i = 1; i < seekBookings.size(); i++) {
+            BookingProjection prev = seekBookings.get(i - 1);
+            BookingProjection next = seekBookings.get(i);
+
+            Assertions.assertFalse(next.getStartTime().isAfter(prev.getStartTime()));
+            if (next.getStartTime().isEqual(prev.getStartTime())) {
+                Assertions.assertTrue(next.getId() < prev.getId());
+            }
+        }
+    }
+
+    @Order(14)
+    @Test
+    void getAllBookingByBookerAfterCursorStandardBehavior() {
+        var firstPage = bookingRepository.findBookings(query(BookingRole.BOOKER, 1000L, BookingState.ALL)
+                .cursor(new BookingCursor(LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE))
+                .limit(1)
+                .build());
+        Assertions.assertEquals(1, firstPage.size());
+        Assertions.assertEquals(2000L, firstPage.get(0).getId());
+
+        var secondPage = bookingRepository.findBookings(query(BookingRole.BOOKER, 1000L, BookingState.ALL)
+                .cursor(new BookingCursor(firstPage.get(0).getStartTime(), firstPage.get(0).getId()))
+                .build());
+        Assertions.assertEquals(4, secondPage.size());
+        Assertions.assertTrue(secondPage.stream().noneMatch(b -> b.getId().equals(2000L)));
+    }
+
+    @Order(15)
+    @Test
+    void findBookingsSingleStatementBehavior() {
+        em.clear();
+
+        var expected = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getUser().getId().equals(4000L))
+                .collect(Collectors.toList());
+        em.clear();
+
+        Statistics statistics = em.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        var bookings = findBookings(BookingRole.OWNER, 4000L, BookingState.ALL);
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+        Assertions.assertEquals(expected.size(), bookings.size());
+
+        Map<Long, BookingDto> expectedById = BookingMapper.toDto(expected).stream()
+                .collect(Collectors.toMap(BookingDto::getId, Function.identity()));
+
+        for (var booking : bookings) {
+            var dto = BookingMapper.toDto(booking);
+            var expectedDto = expectedById.get(booking.getId());
+
+            Assertions.assertNotNull(expectedDto);
+            Assertions.assertEquals(expectedDto.getId(), dto.getId());
+            Assertions.assertEquals(expectedDto.getStart(), dto.getStart());
+            Assertions.assertEquals(expectedDto.getEnd(), dto.getEnd());
+            Assertions.assertEquals(expectedDto.getStatus(), dto.getStatus());
+            Assertions.assertEquals(expectedDto.getItem(), dto.getItem());
+            Assertions.assertEquals(expectedDto.getBooker(), dto.getBooker());
+        }
+    }
+
+    @Order(16)
+    @Test
+    void transitionStatusRequiresUnchangedBooking() {
+        var booking = bookingRepository.getBookingById(1000L).orElseThrow();
+        Long version = booking.getVersion();
+        em.clear();
+
+        Assertions.assertEquals(0, bookingRepository.transitionStatus(1000L, BookingStatus.WAITING,
+                BookingStatus.REJECTED, version));
+        Assertions.assertEquals(1, bookingRepository.transitionStatus(1000L, BookingStatus.APPROVED,
+                BookingStatus.REJECTED, version));
+        Assertions.assertEquals(0, bookingRepository.transitionStatus(1000L, BookingStatus.REJECTED,
+                BookingStatus.APPROVED, version));
+
+        var updatedBooking = bookingRepository.getBookingById(1000L).orElseThrow();
+        Assertions.assertEquals(BookingStatus.REJECTED, updatedBooking.getStatus());
+        Assertions.assertEquals(version + 1, updatedBooking.getVersion());
+    }
+
+    private List<BookingProjection> findBookings(BookingRole role, Long userId, BookingState state) {
+        return bookingRepository.findBookings(query(role, userId, state).build());
+    }
+
+    private static BookingQuery.BookingQueryBuilder query(BookingRole role, Long userId, BookingState state) {
+        return BookingQuery.builder()
+                .role(role)
+                .userId(userId)
+                .state(state)
+                .current(LocalDateTime.now())
+                .offset(0)
+                .limit(Integer.MAX_VALUE);
     }
 
     private void fillTestUsers() {
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.user.UserDto;
+import ru.practicum.shareit.user.UserService;
+
+import javax.sql.DataSource;
+
+/**
+ * Основная база данных и реплика - две независимые базы H2 в памяти: данные реплики заполняются отдельно,
+ * поэтому по результату чтения видно, с какой базы оно выполнено.
+ */
+@SpringBootTest(properties = {
+        "shareit.datasource.replica.enabled=true",
+        "shareit.datasource.replica.urls=" + ReplicaRoutingDataSourceTest.REPLICA_URL,
+        "shareit.datasource.replica.lag-query=SELECT lag_ms FROM public.replica_lag",
+        "shareit.datasource.replica.lag-check-interval-ms=3600000",
+        "shareit.datasource.replica.sticky-primary-ms=60000"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ReplicaRoutingDataSourceTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:shareit_replica;DB_CLOSE_DELAY=-1";
+
+    private static final Long USER_ID = 910001L;
+
+    private final UserService userService;
+
+    private final ReplicaPool replicaPool;
+
+    private final HikariDataSource primaryDataSource;
+
+    private JdbcTemplate primary;
+
+    private JdbcTemplate replica;
+
+    @BeforeAll
+    void setUp() {
+        DataSource replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "test", "test");
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("test_schema.sql"));
+        schema.execute(primaryDataSource);
+        schema.execute(replicaDataSource);
+
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+
+        primary.update("INSERT INTO public.users (user_id, name, email) VALUES (?, 'primary', 'routing@primary.ru')",
+                USER_ID);
+        replica.update("INSERT INTO public.users (user_id, name, email) VALUES (?, 'replica', 'routing@replica.ru')",
+                USER_ID);
+        replica.execute("CREATE TABLE IF NOT EXISTS public.replica_lag (lag_ms bigint NOT NULL)");
+        replica.update("INSERT INTO public.replica_lag (lag_ms) VALUES (0)");
+
+        replicaPool.checkReplicas();
+    }
+
+    @AfterEach
+    void resetReplica() {
+        RequestContextHolder.resetRequestAttributes();
+        replica.update("UPDATE public.replica_lag SET lag_ms = 0");
+        replicaPool.checkReplicas();
+    }
+
+    @AfterAll
+    void tearDown() {
+        primary.update("DELETE FROM public.users WHERE user_id = ?", USER_ID);
+    }
+
+    @Test
+    void readOnlyTransactionReadsFromReplica() {
+        Assertions.assertTrue(replicaPool.isAvailable("replica-0"));
+        Assertions.assertEquals("replica", userService.getUser(USER_ID).getName());
+    }
+
+    @Test
+    void writeTransactionUsesPrimary() {
+        userService.updateUser(UserDto.builder().email("routing_updated@primary.ru").build(), USER_ID);
+
+        Assertions.assertEquals("routing_updated@primary.ru",
+                primary.queryForObject("SELECT email FROM public.users WHERE user_id = ?", String.class, USER_ID));
+        Assertions.assertEquals("routing@replica.ru",
+                replica.queryForObject("SELECT email FROM public.users WHERE user_id = ?", String.class, USER_ID));
+    }
+
+    @Test
+    void laggingReplicaIsSkipped() {
+        replica.update("UPDATE public.replica_lag SET lag_ms = 60000");
+        replicaPool.checkReplicas();
+
+        Assertions.assertFalse(replicaPool.isAvailable("replica-0"));
+        Assertions.assertEquals("primary", userService.getUser(USER_ID).getName());
+    }
+
+    @Test
+    void userIsStickyToPrimaryAfterWrite() {
+        asUser(910002L);
+        userService.updateUser(UserDto.builder().name("primary").build(), USER_ID);
+        Assertions.assertEquals("primary", userService.getUser(USER_ID).getName());
+
+        asUser(910003L);
+        Assertions.assertEquals("replica", userService.getUser(USER_ID).getName());
+    }
+
+    private static void asUser(Long userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Sharer-User-Id", userId);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.datasource;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.transaction.Transactional;
+import java.util.List;
+import java.util.Optional;
+
+@SpringBootTest
+@Sql({
+        "/test_schema.sql",
+        "/import_user_data.sql"
+})
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class RepositoryQueryMetricsTest {
+
+    private final UserRepository userRepository;
+
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void repositoryCallIsMeasuredPerMethod() {
+        long callsBefore = timer().map(Timer::count).orElse(0L);
+        double bindsBefore = binds().map(DistributionSummary::totalAmount).orElse(0.0);
+
+        var existingIds = userRepository.getExistingIds(List.of(1000L, 4000L, 99999L));
+
+        Assertions.assertEquals(2, existingIds.size());
+        Assertions.assertEquals(callsBefore + 1, timer().orElseThrow().count());
+        Assertions.assertEquals(bindsBefore + 3, binds().orElseThrow().totalAmount());
+    }
+
+    private Optional<Timer> timer() {
+        return Optional.ofNullable(meterRegistry.find("shareit.repository.query")
+                .tags("repository", "UserRepository", "method", "getExistingIds", "outcome", "ok")
+                .timer());
+    }
+
+    private Optional<DistributionSummary> binds() {
+        return Optional.ofNullable(meterRegistry.find("shareit.repository.query.binds")
+                .tags("repository", "UserRepository", "method", "getExistingIds", "outcome", "ok")
+                .summary());
+    }
+}
@@ -0,0 +1,159 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.InputBookingDto;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@SpringBootTest
+@Sql({
+        "/test_schema.sql",
+        "/import_user_data.sql",
+        "/import_item_request_data.sql",
+        "/import_item_data.sql"
+})
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemBookingSummaryServiceTest {
+
+    private static final Long OWNER_ID = 1000L;
+
+    private static final Long BOOKER_ID = 5000L;
+
+    private final ItemBookingSummaryService summaryService;
+
+    private final ItemBookingSummaryRepository summaryRepository;
+
+    private final ItemService itemService;
+
+    private final BookingService bookingService;
+
+    private final BookingRepository bookingRepository;
+
+    private final EntityManager entityManager;
+
+    private Long itemId;
+
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        itemId = itemService.createItem(ItemDto.builder()
+                .name("Перфоратор")
+                .description("Перфоратор для сводки бронирований")
+                .available(true)
+                .build(), OWNER_ID).getId();
+        start = LocalDateTime.now().plusDays(1);
+    }
+
+    @Test
+    void newItemHasEmptySummary() {
+        var summary = summaryRepository.findById(itemId).orElseThrow();
+
+        Assertions.assertNull(summary.getLastBookingId());
+        Assertions.assertNull(summary.getNextBookingId());
+    }
+
+    @Test
+    void approvalAndRejectionUpdateNextBooking() {
+        Long laterId = createBooking(start.plusDays(2));
+        Long earlierId = createBooking(start);
+
+        Assertions.assertNull(itemService.getItem(itemId, OWNER_ID).getNextBooking());
+
+        bookingService.approvalBooking(OWNER_ID, laterId, true);
+        Assertions.assertEquals(laterId, itemService.getItem(itemId, OWNER_ID).getNextBooking().getId());
+
+        bookingService.approvalBooking(OWNER_ID, earlierId, true);
+        var nextBooking = itemService.getItem(itemId, OWNER_ID).getNextBooking();
+        Assertions.assertEquals(earlierId, nextBooking.getId());
+        Assertions.assertEquals(BOOKER_ID, nextBooking.getBookerId());
+
+        bookingService.approvalBooking(OWNER_ID, earlierId, false);
+        Assertions.assertEquals(laterId, itemService.getItem(itemId, OWNER_ID).getNextBooking().getId());
+    }
+
+    @Test
+    void summaryIsHiddenFromNotOwner() {
+        bookingService.approvalBooking(OWNER_ID, createBooking(start), true);
+
+        var item = itemService.getItem(itemId, BOOKER_ID);
+
+        Assertions.assertNull(item.getLastBooking());
+        Assertions.assertNull(item.getNextBooking());
+    }
+
+    @Test
+    void rolloverMovesStartedBookingToLast() {
+        Long startedId = createBooking(start);
+        Long nextId = createBooking(start.plusDays(2));
+        bookingService.approvalBooking(OWNER_ID, startedId, true);
+        bookingService.approvalBooking(OWNER_ID, nextId, true);
+
+        LocalDateTime startedAt = LocalDateTime.now().minusHours(1);
+        bookingRepository.findById(startedId).orElseThrow().setStart(startedAt);
+        summaryRepository.findById(itemId).orElseThrow().setNextStart(startedAt);
+
+        summaryService.rolloverSummaries();
+
+        var item = itemService.getItem(itemId, OWNER_ID);
+        Assertions.assertEquals(startedId, item.getLastBooking().getId());
+        Assertions.assertEquals(nextId, item.getNextBooking().getId());
+    }
+
+    @Test
+    void getItemsByOwnerIdStatementCountDoesNotDependOnItemCount() {
+        bookingService.approvalBooking(OWNER_ID, createBooking(start), true);
+
+        long statementCount = countStatementsOfGetItemsByOwnerId();
+
+        for (int i = 0; i < 3; i++) {
+            setUp();
+            bookingService.approvalBooking(OWNER_ID, createBooking(start), true);
+        }
+
+        Assertions.assertEquals(statementCount, countStatementsOfGetItemsByOwnerId());
+
+        var lastItem = itemService.getItemsByOwnerId(OWNER_ID).stream()
+                .filter(item -> item.getId().equals(itemId))
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertEquals(BOOKER_ID, lastItem.getNextBooking().getBookerId());
+    }
+
+    private long countStatementsOfGetItemsByOwnerId() {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<OutItemDto> items = itemService.getItemsByOwnerId(OWNER_ID);
+        Assertions.assertFalse(items.isEmpty());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Long createBooking(LocalDateTime bookingStart) {
+        return bookingService.createBooking(InputBookingDto.builder()
+                .itemId(itemId)
+                .start(bookingStart)
+                .end(bookingStart.plusHours(2))
+                .build(), BOOKER_ID).getId();
+    }
+}
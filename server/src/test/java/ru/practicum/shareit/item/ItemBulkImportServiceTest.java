@@ -0,0 +1,78 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.exceptions.ApiErrorException;
+
+import javax.transaction.Transactional;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+@SpringBootTest(properties = "shareit.bulk-import.batch-size=2")
+@Sql({
+        "/test_schema.sql",
+        "/import_user_data.sql",
+        "/import_item_request_data.sql",
+        "/import_item_data.sql"
+})
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemBulkImportServiceTest {
+
+    private static final Long OWNER_ID = 5000L;
+
+    private final ItemBulkImportService importService;
+
+    private final ItemService itemService;
+
+    private final ItemBookingSummaryRepository summaryRepository;
+
+    @Test
+    void importItemsStandardBehavior() {
+        var result = importService.importItems(ndjson(
+                "{\"name\":\"Дрель\",\"description\":\"Ударная дрель\",\"available\":true}",
+                "",
+                "{\"name\":\"Пила\",\"description\":\"Циркулярная пила\",\"available\":false}",
+                "{\"name\":\"Лобзик\",\"description\":\"Электролобзик\",\"available\":true}"), OWNER_ID);
+
+        Assertions.assertEquals(3, result.getImported());
+        Assertions.assertEquals(0, result.getRejected());
+
+        var items = itemService.getItemsByOwnerId(OWNER_ID);
+        Assertions.assertEquals(3, items.size());
+        Assertions.assertTrue(items.stream().allMatch(item -> summaryRepository.existsById(item.getId())));
+    }
+
+    @Test
+    void importItemsRejectsInvalidLines() {
+        var result = importService.importItems(ndjson(
+                "{\"name\":\"Дрель\",\"description\":\"Ударная дрель\",\"available\":true}",
+                "{\"name\":\"Пила\"",
+                "{\"name\":\" \",\"description\":\"Без названия\",\"available\":true}",
+                "{\"name\":\"Лобзик\",\"description\":\"Электролобзик\"}"), OWNER_ID);
+
+        Assertions.assertEquals(1, result.getImported());
+        Assertions.assertEquals(3, result.getRejected());
+        Assertions.assertEquals(3, result.getErrors().size());
+        Assertions.assertTrue(result.getErrors().get(0).startsWith("Строка 2: "));
+        Assertions.assertEquals(1, itemService.getItemsByOwnerId(OWNER_ID).size());
+    }
+
+    @Test
+    void importItemsForUnknownOwner() {
+        ApiErrorException ex = Assertions.assertThrows(ApiErrorException.class, () ->
+                importService.importItems(ndjson("{\"name\":\"Дрель\"}"), 10000L));
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
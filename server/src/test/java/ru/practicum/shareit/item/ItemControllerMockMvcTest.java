@@ -136,7 +136,7 @@ class ItemControllerMockMvcTest {
 
         String searchString = testItemDtoList.get(0).getName();
 
-        when(itemService.getSearchedItems(any(String.class))).thenReturn(testItemDtoList);
+        when(itemService.getSearchedItems(any(String.class), any(Integer.class), any(Integer.class))).thenReturn(testItemDtoList);
 
         mvc.perform(
                         get("/items/search")
@@ -171,4 +171,4 @@ class ItemRepositoryTest {
                 .request(null)
                 .build();
     }
-}
\ No newline at end of file
+}
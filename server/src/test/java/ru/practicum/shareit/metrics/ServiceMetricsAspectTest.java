@@ -0,0 +1,63 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.exceptions.ApiErrorException;
+
+import javax.transaction.Transactional;
+
+@SpringBootTest
+@Sql({
+        "/test_schema.sql",
+        "/import_user_data.sql",
+        "/import_item_request_data.sql",
+        "/import_item_data.sql",
+        "/import_booking_data.sql"
+})
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ServiceMetricsAspectTest {
+
+    private final BookingService bookingService;
+
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void bookingListCallIsTaggedWithStateAndRole() {
+        long serviceCallsBefore = count("shareit.service.call", "service", "BookingServiceImpl",
+                "method", "getAllBookingByOwner", "state", "PAST", "role", "owner", "outcome", "ok");
+        long queriesBefore = count("shareit.repository.query", "repository", "BookingRepository",
+                "method", "findBookings", "state", "PAST", "role", "owner", "outcome", "ok");
+
+        bookingService.getAllBookingByOwner(4000L, 0, 20, "PAST");
+
+        Assertions.assertEquals(serviceCallsBefore + 1, count("shareit.service.call", "service", "BookingServiceImpl",
+                "method", "getAllBookingByOwner", "state", "PAST", "role", "owner", "outcome", "ok"));
+        Assertions.assertEquals(queriesBefore + 1, count("shareit.repository.query", "repository", "BookingRepository",
+                "method", "findBookings", "state", "PAST", "role", "owner", "outcome", "ok"));
+    }
+
+    @Test
+    void failedCallIsTaggedWithStatusCode() {
+        long callsBefore = count("shareit.service.call", "service", "BookingServiceImpl",
+                "method", "getAllBookingByUser", "state", "none", "role", "none", "outcome", "404");
+
+        Assertions.assertThrows(ApiErrorException.class, () ->
+                bookingService.getAllBookingByUser(99999L, 0, 20, "ALL"));
+
+        Assertions.assertEquals(callsBefore + 1, count("shareit.service.call", "service", "BookingServiceImpl",
+                "method", "getAllBookingByUser", "state", "none", "role", "none", "outcome", "404"));
+    }
+
+    private long count(String name, String... tags) {
+        Timer timer = meterRegistry.find(name).tags(tags).timer();
+        return timer != null ? timer.count() : 0L;
+    }
+}
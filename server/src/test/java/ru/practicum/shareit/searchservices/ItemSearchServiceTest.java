@@ -0,0 +1,218 @@
+package ru.practicum.shareit.searchservices;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.search.jpa.Search;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.UserDto;
+import ru.practicum.shareit.user.UserService;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@SpringBootTest(properties = "shareit.search.full-text.enabled=true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemSearchServiceTest {
+
+    private final ItemService itemService;
+
+    private final ItemSearchService itemSearchService;
+
+    private final ItemRepository itemRepository;
+
+    private final IndexingService indexingService;
+
+    private final UserService userService;
+
+    private final DataSource dataSource;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final List<ItemDto> testItemList = new ArrayList<>();
+
+    private UserDto owner;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        new ResourceDatabasePopulator(new ClassPathResource("test_schema.sql")).execute(dataSource);
+
+        owner = userService.createUser(UserDto.builder()
+                .name("ItemSearchServiceTest owner")
+                .email("item_search_test@mail.ru")
+                .build());
+
+        testItemList.add(createItem("Кухонный стол", "Стол для празднования", true));
+        testItemList.add(createItem("Отвертка", "Аккумуляторная отвертка", true));
+        testItemList.add(createItem("Настольная лампа", "Лампа для рабочего стола", true));
+        testItemList.add(createItem("Стол письменный", "Стол для работы", false));
+
+        indexingService.initiateIndexing().get(30, TimeUnit.SECONDS);
+    }
+
+    @AfterAll
+    void tearDown() {
+        userService.deleteUser(owner.getId());
+    }
+
+    @Test
+    void searchIsEnabled() {
+        Assertions.assertTrue(itemSearchService.isEnabled());
+    }
+
+    @Test
+    void indexingProgressIsReported() {
+        var progress = indexingService.getProgress();
+
+        Assertions.assertEquals(true, progress.get("indexReady"));
+        Assertions.assertEquals(IndexingProgress.State.READY, progress.get("state"));
+        Assertions.assertNotNull(progress.get("watermark"));
+    }
+
+    @Test
+    void incrementalIndexingPicksUpBulkUpdatedItems() throws Exception {
+        var item = createItem("Дрель", "Дрель ударная", true);
+
+        itemService.updateItem(ItemDto.builder()
+                .name("Перфоратор")
+                .build(), item.getId(), owner.getId());
+
+        Assertions.assertTrue(itemService.getSearchedItems("перфоратор").isEmpty());
+
+        indexingService.initiateIndexing().get(30, TimeUnit.SECONDS);
+
+        var itemList = itemService.getSearchedItems("перфоратор");
+        Assertions.assertEquals(1, itemList.size());
+        Assertions.assertEquals(item.getId(), itemList.get(0).getId());
+    }
+
+    @Test
+    void deletedOwnerItemsArePurgedFromIndex() {
+        var otherOwner = userService.createUser(UserDto.builder()
+                .name("ItemSearchServiceTest other owner")
+                .email("item_search_test_other@mail.ru")
+                .build());
+        itemService.createItem(ItemDto.builder()
+                .name("Стремянка")
+                .description("Стремянка алюминиевая")
+                .available(true)
+                .build(), otherOwner.getId());
+
+        Assertions.assertEquals(1, itemService.getSearchedItems("стремянка").size());
+        int indexedCount = getIndexedItemsCount();
+
+        userService.deleteUser(otherOwner.getId());
+
+        Assertions.assertEquals(indexedCount - 1, getIndexedItemsCount());
+        Assertions.assertTrue(itemService.getSearchedItems("стремянка").isEmpty());
+    }
+
+    @Test
+    void searchIgnoresCaseAndUnavailableItems() {
+        var itemList = itemService.getSearchedItems("сТоЛ");
+
+        Assertions.assertEquals(2, itemList.size());
+        Assertions.assertTrue(itemList.stream().allMatch(ItemDto::getAvailable));
+    }
+
+    @Test
+    void searchMatchesSubstringInsideWord() {
+        var itemList = itemService.getSearchedItems("ертк");
+
+        Assertions.assertEquals(1, itemList.size());
+        Assertions.assertEquals("Отвертка", itemList.get(0).getName());
+    }
+
+    @Test
+    void searchRequiresAllWords() {
+        var itemList = itemService.getSearchedItems("стол празднования");
+
+        Assertions.assertEquals(1, itemList.size());
+        Assertions.assertEquals("Кухонный стол", itemList.get(0).getName());
+    }
+
+    @Test
+    void searchWithPagination() {
+        var firstPage = itemService.getSearchedItems("стол", 0, 1);
+        var secondPage = itemService.getSearchedItems("стол", 1, 1);
+
+        Assertions.assertEquals(1, firstPage.size());
+        Assertions.assertEquals(1, secondPage.size());
+
+        var ids = List.of(firstPage.get(0).getId(), secondPage.get(0).getId());
+        Assertions.assertNotEquals(ids.get(0), ids.get(1));
+        Assertions.assertTrue(testItemList.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList())
+                .containsAll(ids));
+    }
+
+    @Test
+    void searchPageMatchesDatabaseSearch() {
+        var indexPage = itemService.getSearchedItems("стол", 1, 2);
+        var databasePage = itemRepository.searchItemsByDescriptionOrName("стол", PageRequest.of(0, 2));
+
+        Assertions.assertEquals(2, indexPage.size());
+        Assertions.assertEquals(databasePage.map(Item::getId).toList(),
+                indexPage.stream().map(ItemDto::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void batchSearchLoadsAllMatchedItemsWithSingleStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        var result = itemSearchService.searchItemsByNameOrDescription(
+                List.of("празднования работы", "отвертка", "лампа", "самолет"));
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(4, result.size());
+        Assertions.assertEquals(2, result.get(0).size());
+        Assertions.assertEquals(1, result.get(1).size());
+        Assertions.assertEquals("Отвертка", result.get(1).get(0).getName());
+        Assertions.assertEquals(1, result.get(2).size());
+        Assertions.assertEquals("Настольная лампа", result.get(2).get(0).getName());
+        Assertions.assertTrue(result.get(3).isEmpty());
+    }
+
+    private int getIndexedItemsCount() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return Search.getFullTextEntityManager(entityManager)
+                    .getSearchFactory()
+                    .getStatistics()
+                    .getNumberOfIndexedEntities(Item.class.getName());
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private ItemDto createItem(String name, String description, Boolean available) {
+        return itemService.createItem(ItemDto.builder()
+                .id(null)
+                .name(name)
+                .description(description)
+                .available(available)
+                .requestId(null)
+                .build(), owner.getId());
+    }
+}
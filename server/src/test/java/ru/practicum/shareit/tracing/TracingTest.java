@@ -0,0 +1,96 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.transaction.Transactional;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql({
+        "/test_schema.sql",
+        "/import_user_data.sql",
+        "/import_item_request_data.sql",
+        "/import_item_data.sql",
+        "/import_booking_data.sql"
+})
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class TracingTest {
+
+    private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+
+    private static final String GATEWAY_SPAN_ID = "b7ad6b7169203331";
+
+    private final MockMvc mockMvc;
+
+    private final SdkTracerProvider sdkTracerProvider;
+
+    private final InMemorySpanExporter spanExporter;
+
+    @BeforeEach
+    void setUp() {
+        sdkTracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        spanExporter.reset();
+    }
+
+    @Test
+    void ownerBookingsRequestIsTracedFromControllerToJdbc() throws Exception {
+        mockMvc.perform(get("/bookings/owner")
+                        .param("state", "ALL")
+                        .header("X-Sharer-User-Id", 4000L)
+                        .header("traceparent", "00-" + TRACE_ID + "-" + GATEWAY_SPAN_ID + "-01"))
+                .andExpect(status().isOk());
+
+        sdkTracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+
+        SpanData request = findSpan(spans, "GET /bookings/owner");
+        Assertions.assertEquals(SpanKind.SERVER, request.getKind());
+        Assertions.assertEquals(TRACE_ID, request.getTraceId());
+        Assertions.assertEquals(GATEWAY_SPAN_ID, request.getParentSpanId());
+
+        SpanData service = findSpan(spans, "BookingServiceImpl.getAllBookingByOwner");
+        Assertions.assertEquals(request.getSpanId(), service.getParentSpanId());
+
+        SpanData repository = findSpan(spans, "BookingRepository.findBookings");
+        Assertions.assertEquals(service.getSpanId(), repository.getParentSpanId());
+
+        Assertions.assertTrue(spans.stream().anyMatch(span -> span.getKind() == SpanKind.CLIENT
+                        && repository.getSpanId().equals(span.getParentSpanId())),
+                "Нет спана запроса JDBC, выполненного в BookingRepository.findBookings");
+    }
+
+    private static SpanData findSpan(List<SpanData> spans, String name) {
+        return spans.stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Спан " + name + " не найден"));
+    }
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.transaction.Transactional;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+@SpringBootTest(properties = "shareit.bulk-import.batch-size=2")
+@Sql({
+        "/test_schema.sql",
+        "/import_user_data.sql"
+})
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class UserBulkImportServiceTest {
+
+    private final UserBulkImportService importService;
+
+    private final UserService userService;
+
+    @Test
+    void importUsersStandardBehavior() {
+        int usersBefore = userService.getUsersList().size();
+
+        var result = importService.importUsers(ndjson(
+                "{\"name\":\"bulk 1\",\"email\":\"bulk_1@mail.ru\"}",
+                "{\"name\":\"bulk 2\",\"email\":\"bulk_2@mail.ru\"}",
+                "{\"name\":\"bulk 3\",\"email\":\"bulk_3@mail.ru\"}"));
+
+        Assertions.assertEquals(3, result.getImported());
+        Assertions.assertEquals(0, result.getRejected());
+        Assertions.assertEquals(usersBefore + 3, userService.getUsersList().size());
+    }
+
+    @Test
+    void importUsersRejectsDuplicateAndInvalidEmails() {
+        var result = importService.importUsers(ndjson(
+                "{\"name\":\"bulk 1\",\"email\":\"bulk_1@mail.ru\"}",
+                "{\"name\":\"existing\",\"email\":\"user_1@user.com\"}",
+                "{\"name\":\"bulk 1 again\",\"email\":\"bulk_1@mail.ru\"}",
+                "{\"name\":\"no email\"}",
+                "{\"name\":\"bad email\",\"email\":\"bulk.mail.ru\"}"));
+
+        Assertions.assertEquals(1, result.getImported());
+        Assertions.assertEquals(4, result.getRejected());
+        Assertions.assertTrue(result.getErrors().get(0).startsWith("Строка 2: "));
+        Assertions.assertTrue(result.getErrors().get(1).startsWith("Строка 3: "));
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,34 @@
+-- Данные для QueryPlanTest (только PostgreSQL): 10 000 пользователей, 100 000 предметов, 1 000 000 бронирований
+-- и 200 000 комментариев. Загружаются в транзакции теста и откатываются вместе с ней; ANALYZE в той же транзакции
+-- обновляет статистику, по которой планировщик выбирает индексы.
+-- Подтвержденные (status = 1) бронирования одного предмета идут с шагом 100 000 минут и не пересекаются.
+INSERT INTO public.users (user_id, name, email)
+SELECT g, 'user ' || g, 'user_' || g || '@explain.test'
+FROM generate_series(1, 10000) g;
+
+INSERT INTO public.item_request (item_request_id, description, requester_id, request_created)
+SELECT g, 'request ' || g, 1 + (g % 10000), localtimestamp - (g || ' minutes')::interval
+FROM generate_series(1, 10000) g;
+
+INSERT INTO public.item (item_id, name, description, available, owner, request)
+SELECT g, 'item ' || g, 'item description ' || g, g % 10 <> 0, 1 + (g % 10000), null
+FROM generate_series(1, 100000) g;
+
+INSERT INTO public.booking (start_time, end_time, item_id, booker_id, status, owner_id)
+SELECT timestamp '2020-01-01' + (g || ' minutes')::interval,
+       timestamp '2020-01-01' + ((g + 60) || ' minutes')::interval,
+       1 + (g % 100000),
+       1 + ((g * 7) % 10000),
+       g % 4,
+       1 + ((1 + (g % 100000)) % 10000)
+FROM generate_series(1, 1000000) g;
+
+INSERT INTO public.comments (text, item_id, author_id, created)
+SELECT 'comment ' || g, 1 + (g % 100000), 1 + ((g * 3) % 10000), localtimestamp
+FROM generate_series(1, 200000) g;
+
+ANALYZE public.users;
+ANALYZE public.item_request;
+ANALYZE public.item;
+ANALYZE public.booking;
+ANALYZE public.comments;
@@ -1,10 +1,10 @@
-INSERT INTO  public.booking (booking_id, start_time, end_time, item_id, booker_id, status)
+INSERT INTO  public.booking (booking_id, start_time, end_time, item_id, booker_id, status, owner_id)
 VALUES
-    (1000,	'2023-07-14 14:04:51',	'2023-07-14 14:04:52',	2000,	1000,	1),
-    (2000,	'2024-07-15 14:04:48',	'2024-07-16 14:04:48',	2000,	1000,	1),
-    (3000,	'2023-07-15 14:04:50',	'2023-07-15 15:04:50',	1000,	4000,	2),
-    (4000,	'2023-07-14 15:04:50',	'2023-07-14 16:04:50',	2000,	5000,	1),
-    (5000,	'2023-07-14 14:04:58',	'2024-07-14 14:04:55',	3000,	1000,	2),
-    (6000,	'2023-07-14 14:04:58',	'2023-07-14 14:04:59',	2000,	1000,	1),
-    (8000,	'2023-07-14 14:04:58',	'2023-07-14 15:04:56',  4000,	1000,	1),
-    (7000,	'2023-07-24 14:04:56',	'2023-07-25 14:04:56',	1000,	5000,	1);
+    (1000,	'2023-07-14 14:04:51',	'2023-07-14 14:04:52',	2000,	1000,	1,	4000),
+    (2000,	'2024-07-15 14:04:48',	'2024-07-16 14:04:48',	2000,	1000,	1,	4000),
+    (3000,	'2023-07-15 14:04:50',	'2023-07-15 15:04:50',	1000,	4000,	2,	1000),
+    (4000,	'2023-07-14 15:04:50',	'2023-07-14 16:04:50',	2000,	5000,	1,	4000),
+    (5000,	'2023-07-14 14:04:58',	'2024-07-14 14:04:55',	3000,	1000,	2,	4000),
+    (6000,	'2023-07-14 14:04:58',	'2023-07-14 14:04:59',	2000,	1000,	1,	4000),
+    (8000,	'2023-07-14 14:04:58',	'2023-07-14 15:04:56',  4000,	1000,	1,	6000),
+    (7000,	'2023-07-24 14:04:56',	'2023-07-25 14:04:56',	1000,	5000,	1,	1000);
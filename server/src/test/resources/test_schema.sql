@@ -30,6 +30,7 @@ CREATE TABLE IF NOT EXISTS public.item (
                                         available boolean NOT NULL,
                                         owner bigint NOT NULL,
                                         request bigint,
+                                        updated_at timestamp without time zone NOT NULL DEFAULT CURRENT_TIMESTAMP,
                                         CONSTRAINT Item_pkey PRIMARY KEY (item_id),
                                         CONSTRAINT Owner_FK FOREIGN KEY(owner) REFERENCES public.users (user_id)
                                             ON DELETE CASCADE
@@ -46,10 +47,15 @@ CREATE TABLE IF NOT EXISTS public.booking (
                                         item_id bigint NOT NULL,
                                         booker_id bigint NOT NULL,
                                         status integer NOT NULL,
+                                        version bigint NOT NULL DEFAULT 0,
+                                        owner_id bigint,
                                         CONSTRAINT Booking_pkey PRIMARY KEY (booking_id),
                                         CONSTRAINT Booker_Id_FK FOREIGN KEY(booker_id)   REFERENCES public.users (user_id)
                                             ON DELETE CASCADE
                                             ON UPDATE CASCADE,
+                                        CONSTRAINT Booking_Owner_Id_FK FOREIGN KEY(owner_id)   REFERENCES public.users (user_id)
+                                            ON DELETE CASCADE
+                                            ON UPDATE CASCADE,
                                         CONSTRAINT Booking_Item_Id_FK FOREIGN KEY(item_id)   REFERENCES public.item (item_id)
                                             ON DELETE CASCADE
                                             ON UPDATE CASCADE
@@ -69,3 +75,47 @@ CREATE TABLE IF NOT EXISTS public.comments (
                                             ON DELETE CASCADE
                                             ON UPDATE CASCADE
 );
+
+CREATE TABLE IF NOT EXISTS public.search_index_watermark (
+                                        index_name varchar(64) NOT NULL,
+                                        indexed_at timestamp without time zone NOT NULL,
+                                        CONSTRAINT Search_Index_Watermark_pkey PRIMARY KEY (index_name)
+);
+
+CREATE TABLE IF NOT EXISTS public.item_booking_summary (
+                                        item_id bigint NOT NULL,
+                                        last_booking_id bigint,
+                                        last_booker_id bigint,
+                                        last_start timestamp without time zone,
+                                        last_end timestamp without time zone,
+                                        next_booking_id bigint,
+                                        next_booker_id bigint,
+                                        next_start timestamp without time zone,
+                                        next_end timestamp without time zone,
+                                        CONSTRAINT Item_Booking_Summary_pkey PRIMARY KEY (item_id),
+                                        CONSTRAINT Summary_Item_Id_FK FOREIGN KEY(item_id)   REFERENCES public.item (item_id)
+                                            ON DELETE CASCADE
+                                            ON UPDATE CASCADE,
+                                        CONSTRAINT Summary_Last_Booking_FK FOREIGN KEY(last_booking_id)   REFERENCES public.booking (booking_id)
+                                            ON DELETE SET NULL,
+                                        CONSTRAINT Summary_Next_Booking_FK FOREIGN KEY(next_booking_id)   REFERENCES public.booking (booking_id)
+                                            ON DELETE SET NULL
+);
+
+-- Последовательности User и Item (allocationSize = 50); начинаются после идентификаторов тестовых данных
+CREATE SEQUENCE IF NOT EXISTS public.users_user_id_seq START WITH 100000 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS public.item_item_id_seq START WITH 100000 INCREMENT BY 50;
+
+-- Контрольные точки загрузки истории бронирований
+CREATE TABLE IF NOT EXISTS public.booking_load_checkpoint (
+                                        load_id varchar(64) NOT NULL,
+                                        status varchar(16) NOT NULL,
+                                        lines_processed bigint NOT NULL DEFAULT 0,
+                                        imported bigint NOT NULL DEFAULT 0,
+                                        rejected bigint NOT NULL DEFAULT 0,
+                                        started_at timestamp without time zone NOT NULL,
+                                        updated_at timestamp without time zone NOT NULL,
+                                        last_error varchar(1000),
+                                        CONSTRAINT Booking_Load_Checkpoint_pkey PRIMARY KEY (load_id)
+);
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Трассировка запросов (OpenTelemetry), общая для server и gateway: спан входящего запроса (TracingFilter),
+ * контекст передается между ними в заголовке W3C traceparent. Остальные спаны добавляет каждое приложение:
+ * gateway - запросы к shareit-server (ClientTracing), server - методы *ServiceImpl, репозиториев и запросы JDBC.
+ * Имя сервиса в спанах - shareit.tracing.service-name (по умолчанию spring.application.name).
+ * <p>
+ * Экспорт спанов (shareit.tracing.exporter): otlp - в коллектор OpenTelemetry по gRPC, logging - в лог
+ * в формате OTLP JSON (можно направить в файл), none - без экспорта. Если в контексте есть свой SpanExporter
+ * (например, InMemorySpanExporter в тестах), используется он.
+ */
+@Slf4j
+@Configuration
+public class TracingConfig {
+    public static final String INSTRUMENTATION_NAME = "ru.practicum.shareit";
+
+    @Value("${shareit.tracing.service-name:${spring.application.name:shareit}}")
+    private String serviceName;
+
+    @Value("${shareit.tracing.exporter:none}")
+    private String exporter;
+
+    @Value("${shareit.tracing.otlp.endpoint:http://localhost:4317}")
+    private String otlpEndpoint;
+
+    @Value("${shareit.tracing.otlp.timeout-ms:10000}")
+    private long otlpTimeout;
+
+    @Value("${shareit.tracing.sampling-probability:1.0}")
+    private double samplingProbability;
+
+    @Bean(destroyMethod = "close")
+    public SdkTracerProvider sdkTracerProvider(ObjectProvider<SpanExporter> spanExporters) {
+        SdkTracerProviderBuilder builder = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault().merge(Resource.create(
+                        Attributes.of(AttributeKey.stringKey("service.name"), serviceName))))
+                .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(samplingProbability)));
+
+        SpanExporter spanExporter = spanExporters.getIfAvailable(this::createSpanExporter);
+        if (spanExporter != null) {
+            builder.addSpanProcessor(BatchSpanProcessor.builder(spanExporter).build());
+        }
+
+        log.info("Трассировка: сервис {}, экспорт {}, доля трассируемых запросов {}", serviceName,
+                spanExporter != null ? spanExporter.getClass().getSimpleName() : "отключен", samplingProbability);
+        return builder.build();
+    }
+
+    @Bean
+    public OpenTelemetry openTelemetry(SdkTracerProvider sdkTracerProvider) {
+        return OpenTelemetrySdk.builder()
+                .setTracerProvider(sdkTracerProvider)
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+    }
+
+    @Bean
+    public Tracer tracer(OpenTelemetry openTelemetry) {
+        return openTelemetry.getTracer(INSTRUMENTATION_NAME);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(OpenTelemetry openTelemetry, Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(
+                new TracingFilter(tracer, openTelemetry.getPropagators().getTextMapPropagator()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    private SpanExporter createSpanExporter() {
+        switch (exporter) {
+            case "otlp":
+                return OtlpGrpcSpanExporter.builder()
+                        .setEndpoint(otlpEndpoint)
+                        .setTimeout(Duration.ofMillis(otlpTimeout))
+                        .build();
+            case "logging":
+                return OtlpJsonLoggingSpanExporter.create();
+            case "none":
+                return null;
+            default:
+                throw new IllegalStateException("Неизвестный способ экспорта спанов: " + exporter
+                        + " (ожидается otlp, logging или none)");
+        }
+    }
+}
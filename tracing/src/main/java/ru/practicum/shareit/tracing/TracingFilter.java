@@ -0,0 +1,115 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import org.springframework.lang.Nullable;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * Спан входящего HTTP-запроса (SERVER). Родительский контекст берется из заголовка traceparent.
+ * Имя спана - метод и шаблон пути обработчика (GET /bookings/owner), чтобы оно не зависело от ID в пути.
+ * Для асинхронных запросов (контроллер возвращает CompletableFuture) спан завершается вместе с асинхронной обработкой.
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    private static final TextMapGetter<HttpServletRequest> GETTER = new TextMapGetter<>() {
+        @Override
+        public Iterable<String> keys(HttpServletRequest request) {
+            return Collections.list(request.getHeaderNames());
+        }
+
+        @Nullable
+        @Override
+        public String get(@Nullable HttpServletRequest request, String key) {
+            return request != null ? request.getHeader(key) : null;
+        }
+    };
+
+    private final Tracer tracer;
+
+    private final TextMapPropagator propagator;
+
+    public TracingFilter(Tracer tracer, TextMapPropagator propagator) {
+        this.tracer = tracer;
+        this.propagator = propagator;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Context parent = propagator.extract(Context.root(), request, GETTER);
+        Span span = tracer.spanBuilder(request.getMethod())
+                .setParent(parent)
+                .setSpanKind(SpanKind.SERVER)
+                .setAttribute("http.request.method", request.getMethod())
+                .setAttribute("url.path", request.getRequestURI())
+                .startSpan();
+
+        try (Scope ignored = span.makeCurrent()) {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            end(span, request, response);
+            throw e;
+        }
+
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    end(span, request, response);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                    span.setStatus(StatusCode.ERROR, "Истекло время асинхронной обработки запроса");
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                    if (event.getThrowable() != null) {
+                        span.recordException(event.getThrowable());
+                    }
+                    span.setStatus(StatusCode.ERROR);
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            end(span, request, response);
+        }
+    }
+
+    private static void end(Span span, HttpServletRequest request, HttpServletResponse response) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            span.updateName(request.getMethod() + " " + pattern);
+            span.setAttribute("http.route", pattern.toString());
+        }
+
+        span.setAttribute("http.response.status_code", response.getStatus());
+        if (response.getStatus() >= 500) {
+            span.setStatus(StatusCode.ERROR);
+        }
+        span.end();
+    }
+}